@@ -0,0 +1,246 @@
+package Map.ConcurrentMap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts per key from many threads without allocating on each update. Every key owns a
+ * mutable {@link Cell} in a {@link ConcurrentHashMap}; updates change the cell, never the map
+ * (unlike {@code map.merge(key, 1, Integer::sum)}, which boxes a new Integer and locks the
+ * bin every time). A cell starts as one CAS-updated long and inflates to a
+ * {@link LongAdder} only when a CAS fails — i.e. only hot, contended keys pay for it.
+ * Null keys are not allowed.
+ */
+public class ConcurrentCounterMap<K> {
+
+    static final class Cell {
+        private static final VarHandle BASE;
+
+        static {
+            try {
+                BASE = MethodHandles.lookup().findVarHandle(Cell.class, "base", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long base;
+        private volatile LongAdder adder; // null until this key is contended
+
+        void add(long delta) {
+            LongAdder a = adder;
+            if (a != null) {
+                a.add(delta);
+                return;
+            }
+            long b = base;
+            if (!BASE.compareAndSet(this, b, b + delta)) {
+                inflate().add(delta); // 🔸 another thread won the CAS → this key is hot
+            }
+        }
+
+        private LongAdder inflate() {
+            LongAdder a = adder;
+            if (a == null) {
+                synchronized (this) { // once per cell
+                    a = adder;
+                    if (a == null) {
+                        adder = a = new LongAdder();
+                    }
+                }
+            }
+            return a;
+        }
+
+        long sum() {
+            LongAdder a = adder;
+            return base + (a == null ? 0 : a.sum());
+        }
+
+        long sumThenReset() {
+            long sum = (long) BASE.getAndSet(this, 0L);
+            LongAdder a = adder;
+            return a == null ? sum : sum + a.sumThenReset();
+        }
+
+        boolean isInflated() {
+            return adder != null;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Cell> cells;
+
+    public ConcurrentCounterMap() {
+        this.cells = new ConcurrentHashMap<>();
+    }
+
+    public ConcurrentCounterMap(int expectedKeys) {
+        this.cells = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    // 🔹 get() first: an existing key costs no lock and no allocation
+    private Cell cell(K key) {
+        Cell cell = cells.get(key);
+        return cell != null ? cell : cells.computeIfAbsent(key, k -> new Cell());
+    }
+
+    public void increment(K key) {
+        cell(key).add(1);
+    }
+
+    public void add(K key, long delta) {
+        cell(key).add(delta);
+    }
+
+    /**
+     * Current count of {@code key} (0 if never counted). Not an atomic snapshot while
+     * other threads keep adding, just like {@link LongAdder#sum()}.
+     */
+    public long sum(Object key) {
+        Cell cell = cells.get(key);
+        return cell == null ? 0 : cell.sum();
+    }
+
+    /**
+     * Returns the count and sets it to zero; the key stays in the map. Adds that race with
+     * this call are either in the returned sum or counted towards the next one.
+     */
+    public long sumThenReset(Object key) {
+        Cell cell = cells.get(key);
+        return cell == null ? 0 : cell.sumThenReset();
+    }
+
+    // Forgets the key; adds racing with the removal may be lost
+    public long remove(Object key) {
+        Cell cell = cells.remove(key);
+        return cell == null ? 0 : cell.sum();
+    }
+
+    public long total() {
+        long total = 0;
+        for (Cell cell : cells.values()) {
+            total += cell.sum();
+        }
+        return total;
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    public Set<K> keySet() {
+        return cells.keySet();
+    }
+
+    /**
+     * The {@code k} largest counts, highest first, taken from a weakly consistent pass over
+     * the map (a min-heap of size k → O(n log k)).
+     */
+    public List<Map.Entry<K, Long>> topK(int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // 🔸 Size by the keys actually present: topK(Integer.MAX_VALUE) must not allocate k slots
+        int capacity = Math.min(k, cells.size()) + 1;
+        PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(capacity, Map.Entry.comparingByValue());
+        cells.forEach((key, cell) -> {
+            long sum = cell.sum();
+            if (heap.size() < k) {
+                heap.add(new AbstractMap.SimpleImmutableEntry<>(key, sum));
+            } else if (sum > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(new AbstractMap.SimpleImmutableEntry<>(key, sum));
+            }
+        });
+        List<Map.Entry<K, Long>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()));
+        return top;
+    }
+
+    // Number of keys whose cell became a LongAdder — for the demo
+    int inflatedCount() {
+        int inflated = 0;
+        for (Cell cell : cells.values()) {
+            if (cell.isInflated()) {
+                inflated++;
+            }
+        }
+        return inflated;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentCounterMap<String> words = new ConcurrentCounterMap<>();
+        for (String word : "to be or not to be that is the question".split(" ")) {
+            words.increment(word);
+        }
+        System.out.println("Top 2: " + words.topK(2) + ", 'be' reset → " + words.sumThenReset("be")
+                + ", now " + words.sum("be"));
+
+        // 🔸 Skewed traffic: half of all updates hit key 0, the rest spread over 10,000 keys
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int updatesPerThread = 2_000_000;
+        for (int round = 0; round < 2; round++) { // round 0 = warm-up
+            ConcurrentHashMap<Integer, Integer> merged = new ConcurrentHashMap<>();
+            long mergeMs = run(threads, updatesPerThread, key -> merged.merge(key, 1, Integer::sum));
+            ConcurrentCounterMap<Integer> counters = new ConcurrentCounterMap<>();
+            long counterMs = run(threads, updatesPerThread, counters::increment);
+            if (round == 1) {
+                System.out.println(threads + " threads: CHM.merge " + mergeMs + " ms, ConcurrentCounterMap "
+                        + counterMs + " ms; hot key " + merged.get(0) + " = " + counters.sum(0)
+                        + "; inflated cells: " + counters.inflatedCount() + " of " + counters.size());
+            }
+        }
+    }
+
+    interface Update {
+        void apply(int key);
+    }
+
+    private static long run(int threads, int updatesPerThread, Update update) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < updatesPerThread; i++) {
+                    update.apply(random.nextBoolean() ? 0 : random.nextInt(10_000));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
+
+/*
+ * 🚀 Contention-Adaptive Counter Map 🚀
+ *
+ * 🔹 map.merge(key, 1, Integer::sum):
+ * - Integer is immutable → every update boxes a NEW Integer (above the 127 cache).
+ * - merge locks the key's bin → all threads updating a hot key queue up there.
+ *
+ * 🔹 Mutable cells:
+ * - Map holds Key → Cell, created once (computeIfAbsent); updates never touch the map.
+ * - Cold key: Cell.base updated with one CAS → no allocation, 8 bytes.
+ * - CAS failed (two threads on the same key) → inflate to a LongAdder (per-thread cells,
+ * striped like ConcurrentStatsCounter) → contention disappears for that key.
+ *
+ * 🔹 Reading:
+ * - sum(key) = base + adder.sum() (a moment-in-time estimate while updates run).
+ * - topK(k) → min-heap of size k over all cells.
+ *
+ * ✅ Zero allocation per update, and the extra memory of LongAdder only for hot keys.
+ */
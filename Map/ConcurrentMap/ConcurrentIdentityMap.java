@@ -0,0 +1,538 @@
+package Map.ConcurrentMap;
+
+import Map.ConcurrentMap.SlotStates.Prime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Thread-safe {@link java.util.IdentityHashMap}: keys are compared with {@code ==}
+ * and hashed with {@link System#identityHashCode}. No locks at all — keys and values
+ * live in one open-addressing array and are changed with compare-and-set only
+ * (design of Cliff Click's NonBlockingHashMap). When the table fills up, a bigger
+ * one is allocated and every thread that touches the map copies a chunk of slots,
+ * so no single thread pays for the whole resize.
+ * Null keys and values are not allowed. {@link #clear()} is not atomic.
+ */
+public class ConcurrentIdentityMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    private static final int MIN_LENGTH = 16;
+    private static final int COPY_CHUNK = 1024;
+
+    // 🔹 Value slot states and markers are shared with the other lock-free table (see SlotStates)
+    private static final Object TOMBSTONE = SlotStates.TOMBSTONE;
+    private static final Prime TOMBPRIME = SlotStates.TOMBPRIME;
+    private static final Object NO_MATCH_OLD = SlotStates.NO_MATCH_OLD;
+    private static final Object MATCH_ANY = SlotStates.MATCH_ANY;
+
+    private final AtomicReference<Table> top;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentIdentityMap() {
+        this(MIN_LENGTH / 2);
+    }
+
+    public ConcurrentIdentityMap(int expectedSize) {
+        int length = MIN_LENGTH;
+        while (length < expectedSize * 2) {
+            length <<= 1;
+        }
+        this.top = new AtomicReference<>(new Table(length));
+    }
+
+    /**
+     * Concurrent identity set, e.g. the "visited" set of a multithreaded graph walk.
+     */
+    public static <T> Set<T> newIdentitySet() {
+        return Collections.newSetFromMap(new ConcurrentIdentityMap<>());
+    }
+
+    static int hash(Object key) {
+        int h = System.identityHashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * One generation of the table: [key0, value0, key1, value1, ...].
+     * A key slot goes null → key (or null → TOMBSTONE when the slot is killed
+     * during a copy) and never changes again.
+     */
+    static final class Table {
+        final AtomicReferenceArray<Object> kvs;
+        final int length;
+        final AtomicInteger slots = new AtomicInteger();     // claimed key slots
+        final AtomicInteger copyIndex = new AtomicInteger(); // next chunk to copy
+        final AtomicInteger copyDone = new AtomicInteger();  // slots fully copied
+        final AtomicReference<Table> next = new AtomicReference<>();
+
+        Table(int length) {
+            this.kvs = new AtomicReferenceArray<>(length * 2);
+            this.length = length;
+        }
+
+        Object key(int i) {
+            return kvs.get(i << 1);
+        }
+
+        Object value(int i) {
+            return kvs.get((i << 1) + 1);
+        }
+
+        boolean casKey(int i, Object expected, Object key) {
+            return kvs.compareAndSet(i << 1, expected, key);
+        }
+
+        boolean casValue(int i, Object expected, Object value) {
+            return kvs.compareAndSet((i << 1) + 1, expected, value);
+        }
+
+        boolean full(int reprobes) {
+            return reprobes >= 10 && slots.get() >= (length >> 1);
+        }
+
+        // Installs (or returns the already installed) next table
+        Table resize(long liveEntries) {
+            Table next = this.next.get();
+            if (next != null) {
+                return next;
+            }
+            this.next.compareAndSet(null, new Table(SlotStates.nextLength(length, liveEntries)));
+            return this.next.get();
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    @Override
+    public V get(Object key) {
+        Objects.requireNonNull(key, "key");
+        Object value = get(top.get(), key, hash(key));
+        return SlotStates.absent(value) ? null : cast(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    private Object get(Table t, Object key, int hash) {
+        int mask = t.length - 1;
+        int idx = hash & mask;
+        int reprobes = 0;
+        while (true) {
+            Object k = t.key(idx);
+            if (k == null) {
+                return null; // clear miss
+            }
+            Object v = t.value(idx);
+            if (k == key) {
+                if (!(v instanceof Prime)) {
+                    return v;
+                }
+                // Slot is being moved → finish moving it, then read the next table
+                return get(copySlotAndCheck(t, idx, true), key, hash);
+            }
+            // Dead key slot → table is being copied, a newer key can only be in the next table
+            if (++reprobes >= SlotStates.reprobeLimit(t.length) || k == TOMBSTONE) {
+                Table next = t.next.get();
+                return next == null ? null : get(next, key, hash);
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        long sum = size.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    @Override
+    public V put(K key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), NO_MATCH_OLD);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), TOMBSTONE);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return update(key, TOMBSTONE, NO_MATCH_OLD);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return value != null && updateIfMatch(key, TOMBSTONE, value);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), MATCH_ANY);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue, "oldValue");
+        Objects.requireNonNull(newValue, "newValue");
+        return updateIfMatch(key, newValue, oldValue);
+    }
+
+    private V update(Object key, Object put, Object expected) {
+        Objects.requireNonNull(key, "key");
+        Object old = putIfMatch(top.get(), key, hash(key), put, expected);
+        return SlotStates.absent(old) ? null : cast(old);
+    }
+
+    // 🔹 Success = the value seen matched: the same test putIfMatch used, so equal-but-not-same values count
+    private boolean updateIfMatch(Object key, Object put, Object expected) {
+        Objects.requireNonNull(key, "key");
+        return SlotStates.matches(putIfMatch(top.get(), key, hash(key), put, expected), expected);
+    }
+
+    @Override
+    public void clear() {
+        top.set(new Table(MIN_LENGTH));
+        size.reset();
+    }
+
+    /**
+     * Sets the value of {@code key} to {@code put} if the current value matches
+     * {@code expected}. Returns the value seen (null / TOMBSTONE = absent).
+     */
+    private Object putIfMatch(Table t, Object key, int hash, Object put, Object expected) {
+        int mask = t.length - 1;
+        int idx = hash & mask;
+        int reprobes = 0;
+        while (true) {
+            Object k = t.key(idx);
+            if (k == null) {
+                if (put == TOMBSTONE || !SlotStates.matches(null, expected)) {
+                    return null; // removing / replacing a key that is not there
+                }
+                if (t.casKey(idx, null, key)) {
+                    t.slots.incrementAndGet();
+                    break;
+                }
+                k = t.key(idx); // lost the race for this slot
+            }
+            if (k == key) {
+                break;
+            }
+            if (++reprobes >= SlotStates.reprobeLimit(t.length) || k == TOMBSTONE) {
+                Table next = t.resize(size.sum());
+                if (expected != null) {
+                    helpCopy();
+                }
+                return putIfMatch(next, key, hash, put, expected);
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        Object v = t.value(idx);
+        while (true) {
+            if (v instanceof Prime || t.next.get() != null) {
+                // Resize in progress → move this slot first, then write into the next table
+                return putIfMatch(copySlotAndCheck(t, idx, expected != null), key, hash, put, expected);
+            }
+            if (v == put || !SlotStates.matches(v, expected)) {
+                return v;
+            }
+            if (v == null && t.full(reprobes)) {
+                t.resize(size.sum());
+                continue;
+            }
+            if (t.casValue(idx, v, put)) {
+                // Copies pass expected == null and do not change the logical size
+                if (expected != null) {
+                    if (SlotStates.absent(v) && put != TOMBSTONE) {
+                        size.increment();
+                    } else if (!SlotStates.absent(v) && put == TOMBSTONE) {
+                        size.decrement();
+                    }
+                }
+                return v;
+            }
+            v = t.value(idx);
+        }
+    }
+
+    // ---------------------------------------------------------------- cooperative resize
+
+    private Table copySlotAndCheck(Table t, int idx, boolean help) {
+        Table next = t.next.get();
+        if (copySlot(t, idx, next)) {
+            copyCheckAndPromote(t, 1);
+        }
+        if (help) {
+            helpCopy();
+        }
+        return next;
+    }
+
+    // 🔹 Every writer copies one chunk of the top table → resize cost is spread over threads
+    private void helpCopy() {
+        Table t = top.get();
+        Table next = t.next.get();
+        if (next == null) {
+            return;
+        }
+        int start = t.copyIndex.get();
+        while (start < t.length && !t.copyIndex.compareAndSet(start, start + COPY_CHUNK)) {
+            start = t.copyIndex.get();
+        }
+        int work = 0;
+        for (int i = start; i < Math.min(start + COPY_CHUNK, t.length); i++) {
+            if (copySlot(t, i, next)) {
+                work++;
+            }
+        }
+        copyCheckAndPromote(t, work);
+    }
+
+    private void copyAll(Table t) {
+        Table next = t.next.get();
+        int work = 0;
+        for (int i = 0; i < t.length; i++) {
+            if (copySlot(t, i, next)) {
+                work++;
+            }
+        }
+        copyCheckAndPromote(t, work);
+    }
+
+    private void copyCheckAndPromote(Table t, int work) {
+        int done = work == 0 ? t.copyDone.get() : t.copyDone.addAndGet(work);
+        if (done == t.length) {
+            top.compareAndSet(t, t.next.get()); // every slot moved → next table becomes the map
+        }
+    }
+
+    /**
+     * Moves slot {@code idx} of {@code t} into {@code next}. Returns true for exactly
+     * one thread per slot: the one whose action completed the slot.
+     */
+    private boolean copySlot(Table t, int idx, Table next) {
+        // 1. Kill an empty key slot so that no new key can appear in the old table
+        Object key;
+        while ((key = t.key(idx)) == null) {
+            t.casKey(idx, null, TOMBSTONE);
+        }
+        // 2. Box the value: writers that see a Prime go to the next table instead
+        Object v = t.value(idx);
+        while (!(v instanceof Prime)) {
+            Prime box = SlotStates.absent(v) ? TOMBPRIME : new Prime(v);
+            if (t.casValue(idx, v, box)) {
+                if (box == TOMBPRIME) {
+                    return true; // nothing to copy
+                }
+                v = box;
+                break;
+            }
+            v = t.value(idx);
+        }
+        if (v == TOMBPRIME) {
+            return false; // someone else finished this slot
+        }
+        // 3. Copy, unless a newer value is already in the next table
+        Object old = ((Prime) v).value;
+        boolean copied = putIfMatch(next, key, hash(key), old, null) == null;
+        // 4. Mark the old slot as done
+        while (v != TOMBPRIME && !t.casValue(idx, v, TOMBPRIME)) {
+            v = t.value(idx);
+        }
+        return copied;
+    }
+
+    // ---------------------------------------------------------------- iteration
+
+    // Finishes any running resize and returns the newest table
+    Table settledTable() {
+        Table t = top.get();
+        while (t.next.get() != null) {
+            copyAll(t);
+            t = t.next.get();
+        }
+        return t;
+    }
+
+    /**
+     * Visits the live mappings in slots [from, to) of {@code table} — one piece of a
+     * split traversal (see {@link ConcurrentMapBulkOps}). Weakly consistent.
+     */
+    @SuppressWarnings("unchecked")
+    void forEachInRange(Table table, int from, int to, BiConsumer<? super K, ? super V> action) {
+        for (int i = from; i < to; i++) {
+            Object k = table.key(i);
+            if (k != null && k != TOMBSTONE) {
+                V v = get(k); // follows the slot if it has moved since
+                if (v != null) {
+                    action.accept((K) k, v);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentIdentityMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Weakly consistent: finishes any running resize, then walks the newest table.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Table table;
+        private int index = -1;
+        private Map.Entry<K, V> next;
+        private Map.Entry<K, V> last;
+
+        EntryIterator() {
+            table = settledTable();
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (next == null && ++index < table.length) {
+                Object k = table.key(index);
+                if (k != null && k != TOMBSTONE) {
+                    V v = get(k); // follows the slot if it has moved since
+                    if (v != null) {
+                        next = new SimpleImmutableEntry<>((K) k, v);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentIdentityMap.this.remove(last.getKey());
+            last = null;
+        }
+    }
+
+    // ---------------------------------------------------------------- demo
+
+    static final class GraphNode {
+        final List<GraphNode> edges = new ArrayList<>();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // 🔸 Identity semantics: equal Strings, different objects → two keys
+        ConcurrentIdentityMap<String, Integer> ids = new ConcurrentIdentityMap<>();
+        String key1 = new String("key");
+        String key2 = new String("key");
+        ids.put(key1, 1);
+        ids.put(key2, 2);
+        System.out.println("Entries: " + ids.size() + ", key1 → " + ids.get(key1) + ", \"key\" literal → " + ids.get("key"));
+
+        // 🔸 Shared visited set for a multithreaded walk over a cyclic graph
+        int nodes = 200_000;
+        List<GraphNode> graph = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            graph.add(new GraphNode());
+        }
+        for (int i = 0; i < nodes; i++) {
+            GraphNode node = graph.get(i);
+            node.edges.add(graph.get((i + 1) % nodes));
+            node.edges.add(graph.get((i * 31 + 7) % nodes));
+        }
+
+        Set<GraphNode> visited = newIdentitySet(); // starts tiny → resizes many times while walking
+        LongAdder firstVisits = new LongAdder();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            GraphNode start = graph.get(t * (nodes / threads));
+            pool.execute(() -> {
+                List<GraphNode> stack = new ArrayList<>();
+                stack.add(start);
+                while (!stack.isEmpty()) {
+                    GraphNode node = stack.remove(stack.size() - 1);
+                    if (visited.add(node)) { // true for exactly one thread per node
+                        firstVisits.increment();
+                        stack.addAll(node.edges);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.println("Visited " + visited.size() + " of " + nodes + " nodes, first visits: " + firstVisits.sum());
+    }
+}
+
+/*
+ * 🚀 Lock-Free Hash Maps 🚀
+ *
+ * 🔹 Why not Collections.synchronizedMap(new IdentityHashMap<>())?
+ * - One lock for everything → threads wait for each other on every get/put.
+ *
+ * 🔹 Lock-free open addressing:
+ * - Keys and values in one AtomicReferenceArray, changed only with compareAndSet (CAS).
+ * - A key slot is written once (null → key) → readers never see a key move.
+ * - Removing = value becomes TOMBSTONE (key slot stays claimed).
+ *
+ * 🔹 Cooperative resize:
+ * - Full table → allocate next table, old table stays usable.
+ * - Each slot is moved in steps: box value as Prime → copy → mark TOMBPRIME.
+ * - A thread that sees a Prime helps move that slot and continues in the new table.
+ * - Every writer also copies a chunk of 1024 slots → work is shared by all threads.
+ * - When all slots are moved → the new table replaces the old one (one CAS).
+ *
+ * ✅ Identity keys: System.identityHashCode + == → ideal for "visited" sets and per-object metadata.
+ */
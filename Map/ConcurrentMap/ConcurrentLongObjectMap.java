@@ -0,0 +1,503 @@
+package Map.ConcurrentMap;
+
+import Map.ConcurrentMap.SlotStates.Prime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Lock-free map from primitive {@code long} keys to objects — the same CAS state machine
+ * as {@link ConcurrentIdentityMap} (Cliff Click's NonBlockingHashMapLong; both use the value
+ * slot states of {@link SlotStates}), but keys are stored unboxed in an {@link AtomicLongArray}.
+ * No Long objects, no bin locks: reads are plain volatile loads, writes are CAS on one
+ * slot, and a full table is copied into a bigger one by all writing threads together.
+ * Key 0 marks an empty slot, so the mapping for key 0 is kept in a separate field.
+ * Null values are not allowed. {@link #clear()} is not atomic.
+ */
+public class ConcurrentLongObjectMap<V> {
+
+    private static final int MIN_LENGTH = 16;
+    private static final int COPY_CHUNK = 1024;
+    private static final long EMPTY = 0L;
+
+    // 🔹 Value slot states and markers are shared with the other lock-free table (see SlotStates)
+    private static final Object TOMBSTONE = SlotStates.TOMBSTONE;
+    private static final Prime TOMBPRIME = SlotStates.TOMBPRIME;
+    private static final Object NO_MATCH_OLD = SlotStates.NO_MATCH_OLD;
+    private static final Object MATCH_ANY = SlotStates.MATCH_ANY;
+
+    /**
+     * Called for every mapping by {@link #forEach(EntryConsumer)}.
+     */
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private final AtomicReference<Table> top;
+    private final AtomicReference<Object> zeroKeyValue = new AtomicReference<>();
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentLongObjectMap() {
+        this(MIN_LENGTH / 2);
+    }
+
+    public ConcurrentLongObjectMap(int expectedSize) {
+        int length = MIN_LENGTH;
+        while (length < expectedSize * 2) {
+            length <<= 1;
+        }
+        this.top = new AtomicReference<>(new Table(length));
+    }
+
+    // 🔸 IDs are often sequential → mix all 64 bits (murmur3 fmix64) before using the low bits
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * One generation of the table. A key slot goes 0 → key and never changes again; an
+     * empty slot is retired during a copy by setting its VALUE to TOMBPRIME, which sends
+     * any writer that claims the key slot afterwards on to the next table.
+     */
+    static final class Table {
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<Object> values;
+        final int length;
+        final AtomicInteger slots = new AtomicInteger();     // claimed key slots
+        final AtomicInteger copyIndex = new AtomicInteger(); // next chunk to copy
+        final AtomicInteger copyDone = new AtomicInteger();  // slots fully copied
+        final AtomicReference<Table> next = new AtomicReference<>();
+
+        Table(int length) {
+            this.keys = new AtomicLongArray(length);
+            this.values = new AtomicReferenceArray<>(length);
+            this.length = length;
+        }
+
+        boolean full(int reprobes) {
+            return reprobes >= 10 && slots.get() >= (length >> 1);
+        }
+
+        // Installs (or returns the already installed) next table
+        Table resize(long liveEntries) {
+            Table next = this.next.get();
+            if (next != null) {
+                return next;
+            }
+            this.next.compareAndSet(null, new Table(SlotStates.nextLength(length, liveEntries)));
+            return this.next.get();
+        }
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    public V get(long key) {
+        Object value = key == EMPTY ? zeroKeyValue.get() : get(top.get(), key, hash(key));
+        return SlotStates.absent(value) ? null : cast(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    private Object get(Table t, long key, int hash) {
+        int mask = t.length - 1;
+        int idx = hash & mask;
+        int reprobes = 0;
+        while (true) {
+            long k = t.keys.get(idx);
+            if (k == EMPTY) {
+                return null; // clear miss
+            }
+            if (k == key) {
+                Object v = t.values.get(idx);
+                if (!(v instanceof Prime)) {
+                    return v;
+                }
+                // Slot is being moved → finish moving it, then read the next table
+                return get(copySlotAndCheck(t, idx, true), key, hash);
+            }
+            if (++reprobes >= SlotStates.reprobeLimit(t.length)) {
+                Table next = t.next.get();
+                return next == null ? null : get(next, key, hash);
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        long sum = size.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    public V put(long key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), NO_MATCH_OLD);
+    }
+
+    public V putIfAbsent(long key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), TOMBSTONE);
+    }
+
+    public V remove(long key) {
+        return update(key, TOMBSTONE, NO_MATCH_OLD);
+    }
+
+    public boolean remove(long key, Object value) {
+        return value != null && updateIfMatch(key, TOMBSTONE, value);
+    }
+
+    public V replace(long key, V value) {
+        return update(key, Objects.requireNonNull(value, "value"), MATCH_ANY);
+    }
+
+    public boolean replace(long key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue, "oldValue");
+        Objects.requireNonNull(newValue, "newValue");
+        return updateIfMatch(key, newValue, oldValue);
+    }
+
+    /**
+     * Lock-free, so {@code mapping} may run in several threads for the same absent key;
+     * only one result is stored and returned to all of them.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mapping) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        V created = mapping.apply(key);
+        if (created == null) {
+            return null;
+        }
+        V existing = putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    private V update(long key, Object put, Object expected) {
+        Object old = write(key, put, expected);
+        return SlotStates.absent(old) ? null : cast(old);
+    }
+
+    // Conditional remove/replace succeeded iff the value seen passed the test the write used
+    private boolean updateIfMatch(long key, Object put, Object expected) {
+        return SlotStates.matches(write(key, put, expected), expected);
+    }
+
+    private Object write(long key, Object put, Object expected) {
+        return key == EMPTY ? updateZeroKey(put, expected) : putIfMatch(top.get(), key, hash(key), put, expected);
+    }
+
+    // Key 0 cannot live in the table (it means "empty slot") → one CAS-updated field
+    private Object updateZeroKey(Object put, Object expected) {
+        while (true) {
+            Object v = zeroKeyValue.get();
+            if (v == put || !SlotStates.matches(v, expected) || (SlotStates.absent(v) && put == TOMBSTONE)) {
+                return v;
+            }
+            if (zeroKeyValue.compareAndSet(v, put == TOMBSTONE ? null : put)) {
+                if (SlotStates.absent(v)) {
+                    size.increment();
+                } else if (put == TOMBSTONE) {
+                    size.decrement();
+                }
+                return v;
+            }
+        }
+    }
+
+    public void clear() {
+        top.set(new Table(MIN_LENGTH));
+        zeroKeyValue.set(null);
+        size.reset();
+    }
+
+    /**
+     * Sets the value of {@code key} to {@code put} if the current value matches
+     * {@code expected}. Returns the value seen (null / TOMBSTONE = absent).
+     */
+    private Object putIfMatch(Table t, long key, int hash, Object put, Object expected) {
+        int mask = t.length - 1;
+        int idx = hash & mask;
+        int reprobes = 0;
+        while (true) {
+            long k = t.keys.get(idx);
+            if (k == EMPTY) {
+                if (put == TOMBSTONE || !SlotStates.matches(null, expected)) {
+                    return null; // removing / replacing a key that is not there
+                }
+                if (t.keys.compareAndSet(idx, EMPTY, key)) {
+                    t.slots.incrementAndGet();
+                    break;
+                }
+                k = t.keys.get(idx); // lost the race for this slot
+            }
+            if (k == key) {
+                break;
+            }
+            if (++reprobes >= SlotStates.reprobeLimit(t.length)) {
+                Table next = t.resize(size.sum());
+                if (expected != null) {
+                    helpCopy();
+                }
+                return putIfMatch(next, key, hash, put, expected);
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        Object v = t.values.get(idx);
+        while (true) {
+            if (v instanceof Prime || t.next.get() != null) {
+                // Resize in progress → move this slot first, then write into the next table
+                return putIfMatch(copySlotAndCheck(t, idx, expected != null), key, hash, put, expected);
+            }
+            if (v == put || !SlotStates.matches(v, expected)) {
+                return v;
+            }
+            if (v == null && t.full(reprobes)) {
+                t.resize(size.sum());
+                continue;
+            }
+            if (t.values.compareAndSet(idx, v, put)) {
+                // Copies pass expected == null and do not change the logical size
+                if (expected != null) {
+                    if (SlotStates.absent(v) && put != TOMBSTONE) {
+                        size.increment();
+                    } else if (!SlotStates.absent(v) && put == TOMBSTONE) {
+                        size.decrement();
+                    }
+                }
+                return v;
+            }
+            v = t.values.get(idx);
+        }
+    }
+
+    // ---------------------------------------------------------------- cooperative resize
+
+    private Table copySlotAndCheck(Table t, int idx, boolean help) {
+        Table next = t.next.get();
+        if (copySlot(t, idx, next)) {
+            copyCheckAndPromote(t, 1);
+        }
+        if (help) {
+            helpCopy();
+        }
+        return next;
+    }
+
+    // 🔹 Every writer copies one chunk of the top table → resize cost is spread over threads
+    private void helpCopy() {
+        Table t = top.get();
+        Table next = t.next.get();
+        if (next == null) {
+            return;
+        }
+        int start = t.copyIndex.get();
+        while (start < t.length && !t.copyIndex.compareAndSet(start, start + COPY_CHUNK)) {
+            start = t.copyIndex.get();
+        }
+        int work = 0;
+        for (int i = start; i < Math.min(start + COPY_CHUNK, t.length); i++) {
+            if (copySlot(t, i, next)) {
+                work++;
+            }
+        }
+        copyCheckAndPromote(t, work);
+    }
+
+    private void copyAll(Table t) {
+        Table next = t.next.get();
+        int work = 0;
+        for (int i = 0; i < t.length; i++) {
+            if (copySlot(t, i, next)) {
+                work++;
+            }
+        }
+        copyCheckAndPromote(t, work);
+    }
+
+    private void copyCheckAndPromote(Table t, int work) {
+        int done = work == 0 ? t.copyDone.get() : t.copyDone.addAndGet(work);
+        if (done == t.length) {
+            top.compareAndSet(t, t.next.get()); // every slot moved → next table becomes the map
+        }
+    }
+
+    /**
+     * Moves slot {@code idx} of {@code t} into {@code next}. Returns true for exactly
+     * one thread per slot: the one whose action completed the slot.
+     */
+    private boolean copySlot(Table t, int idx, Table next) {
+        // 1. Box the value: writers that see a Prime go to the next table instead
+        //    (an empty or removed slot is retired right away as TOMBPRIME)
+        Object v = t.values.get(idx);
+        while (!(v instanceof Prime)) {
+            Prime box = SlotStates.absent(v) ? TOMBPRIME : new Prime(v);
+            if (t.values.compareAndSet(idx, v, box)) {
+                if (box == TOMBPRIME) {
+                    return true; // nothing to copy
+                }
+                v = box;
+                break;
+            }
+            v = t.values.get(idx);
+        }
+        if (v == TOMBPRIME) {
+            return false; // someone else finished this slot
+        }
+        // 2. Copy, unless a newer value is already in the next table
+        long key = t.keys.get(idx); // set before the value was, so never EMPTY here
+        Object old = ((Prime) v).value;
+        boolean copied = putIfMatch(next, key, hash(key), old, null) == null;
+        // 3. Mark the old slot as done
+        while (v != TOMBPRIME && !t.values.compareAndSet(idx, v, TOMBPRIME)) {
+            v = t.values.get(idx);
+        }
+        return copied;
+    }
+
+    // ---------------------------------------------------------------- iteration
+
+    /**
+     * Weakly consistent: finishes any running resize, then walks the newest table.
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        V zero = get(EMPTY);
+        if (zero != null) {
+            action.accept(EMPTY, zero);
+        }
+        Table t = settledTable();
+        forEachInRange(t, 0, t.length, action);
+    }
+
+    // Finishes any running resize and returns the newest table
+    Table settledTable() {
+        Table t = top.get();
+        while (t.next.get() != null) {
+            copyAll(t);
+            t = t.next.get();
+        }
+        return t;
+    }
+
+    /**
+     * Visits the live mappings in slots [from, to) of {@code table}, key 0 excluded — one
+     * piece of a split traversal (see {@link ConcurrentMapBulkOps}).
+     */
+    void forEachInRange(Table table, int from, int to, EntryConsumer<? super V> action) {
+        for (int i = from; i < to; i++) {
+            long k = table.keys.get(i);
+            if (k != EMPTY) {
+                V v = get(k); // follows the slot if it has moved since
+                if (v != null) {
+                    action.accept(k, v);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    // ---------------------------------------------------------------- demo
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentLongObjectMap<String> users = new ConcurrentLongObjectMap<>();
+        users.put(1001L, "Arav");
+        users.put(0L, "root");
+        users.put(1002L, "Bob");
+        users.putIfAbsent(1001L, "ignored");
+        users.remove(1002L);
+        System.out.println("Registry: " + users + ", size " + users.size());
+
+        // 🔸 ID-keyed registry: every thread registers its own IDs and reads random ones
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int idsPerThread = 500_000;
+        for (int round = 0; round < 2; round++) { // round 0 = warm-up
+            ConcurrentHashMap<Long, String> boxed = new ConcurrentHashMap<>();
+            long boxedMs = run(threads, idsPerThread, (id, value) -> boxed.put(id, value), id -> boxed.get(id));
+            ConcurrentLongObjectMap<String> primitive = new ConcurrentLongObjectMap<>();
+            long primitiveMs = run(threads, idsPerThread, primitive::put, primitive::get);
+            if (round == 1) {
+                System.out.println(threads + " threads, " + primitive.size() + " IDs: ConcurrentHashMap<Long, String> "
+                        + boxedMs + " ms, ConcurrentLongObjectMap " + primitiveMs + " ms (both start small and resize)");
+            }
+        }
+    }
+
+    interface Put {
+        void put(long id, String value);
+    }
+
+    private static long run(int threads, int idsPerThread, Put put, LongFunction<String> get) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * idsPerThread + 1;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < idsPerThread; i++) {
+                    put.put(firstId + i, "user");
+                    for (int r = 0; r < 4; r++) {
+                        get.apply(firstId + random.nextInt(i + 1));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
+
+/*
+ * 🚀 Lock-Free Map with Primitive long Keys 🚀
+ *
+ * 🔹 ConcurrentHashMap<Long, V>:
+ * - Every put/get with a long → Long.valueOf → new object (outside -128..127).
+ * - Each entry = Node + Long object → extra memory and pointer chasing.
+ * - Writers lock the bin (synchronized on the first node).
+ *
+ * 🔹 ConcurrentLongObjectMap:
+ * - keys: AtomicLongArray (8 bytes per slot, no objects), values: AtomicReferenceArray.
+ * - Same state machine as ConcurrentIdentityMap: key slot 0 → key once, values via CAS,
+ * TOMBSTONE for removed, Prime while a slot is copied to the next table.
+ * - Key 0 = "empty slot" → the value of key 0 is kept in its own AtomicReference.
+ *
+ * 🔹 Cooperative resize:
+ * - Empty slots are retired by CAS-ing their value to TOMBPRIME (the key slot stays 0).
+ * - Writers copy 1024-slot chunks → no thread does the whole rehash, no thread waits.
+ *
+ * ✅ No boxing, no locks → reads scale with the number of cores.
+ */
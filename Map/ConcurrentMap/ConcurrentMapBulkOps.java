@@ -0,0 +1,315 @@
+package Map.ConcurrentMap;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Parallel bulk operations (forEach, reduce, search, compute-all) over the concurrent maps
+ * of this package, run in a chosen {@link ForkJoinPool}. The work is split on the map's
+ * own table, not on an entry stream:
+ * <ul>
+ *   <li>{@link ConcurrentHashMap} → its built-in bulk methods, which split the bin array;</li>
+ *   <li>{@link ConcurrentIdentityMap} / {@link ConcurrentLongObjectMap} → slot ranges of
+ *   the open-addressing table, halved until a range holds about {@code threshold} entries.</li>
+ * </ul>
+ * {@code parallelismThreshold} has the meaning of ConcurrentHashMap's: maps with fewer
+ * (estimated) entries are processed sequentially; {@code Long.MAX_VALUE} = never parallel,
+ * 1 = as parallel as possible. Results are weakly consistent with concurrent updates.
+ */
+public final class ConcurrentMapBulkOps {
+
+    /**
+     * Function of a primitive long key and its value (for {@link ConcurrentLongObjectMap}).
+     */
+    public interface LongEntryFunction<V, R> {
+        R apply(long key, V value);
+    }
+
+    private final ForkJoinPool pool;
+    private final long parallelismThreshold;
+
+    public ConcurrentMapBulkOps(ForkJoinPool pool, long parallelismThreshold) {
+        if (parallelismThreshold < 1) {
+            throw new IllegalArgumentException("parallelismThreshold must be >= 1");
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.parallelismThreshold = parallelismThreshold;
+    }
+
+    public static ConcurrentMapBulkOps commonPool(long parallelismThreshold) {
+        return new ConcurrentMapBulkOps(ForkJoinPool.commonPool(), parallelismThreshold);
+    }
+
+    // ---------------------------------------------------------------- ConcurrentHashMap
+
+    // 🔹 Started inside the pool → the CHM tasks fork into THIS pool, not the common one
+    public <K, V> void parallelForEach(ConcurrentHashMap<K, V> map, BiConsumer<? super K, ? super V> action) {
+        pool.submit(() -> map.forEach(parallelismThreshold, action)).join();
+    }
+
+    public <K, V> V parallelReduceValues(ConcurrentHashMap<K, V> map,
+                                         BiFunction<? super V, ? super V, ? extends V> reducer) {
+        return pool.submit(() -> map.reduceValues(parallelismThreshold, reducer)).join();
+    }
+
+    /**
+     * First non-null result of {@code search} (any matching entry, not necessarily the
+     * first one in some order); the other tasks stop early once a result is found.
+     */
+    public <K, V, U> U parallelSearch(ConcurrentHashMap<K, V> map,
+                                      BiFunction<? super K, ? super V, ? extends U> search) {
+        return pool.submit(() -> map.search(parallelismThreshold, search)).join();
+    }
+
+    /**
+     * Replaces every value with {@code remapping(key, value)}; a null result removes the
+     * entry. Each key is updated atomically (computeIfPresent), the map as a whole is not.
+     */
+    public <K, V> void parallelComputeAll(ConcurrentHashMap<K, V> map,
+                                          BiFunction<? super K, ? super V, ? extends V> remapping) {
+        parallelForEach(map, (key, value) -> map.computeIfPresent(key, remapping));
+    }
+
+    // ---------------------------------------------------------------- ConcurrentIdentityMap
+
+    public <K, V> void parallelForEach(ConcurrentIdentityMap<K, V> map, BiConsumer<? super K, ? super V> action) {
+        ConcurrentIdentityMap.Table table = map.settledTable();
+        invoke(table.length, map.size(), (from, to) -> {
+            map.forEachInRange(table, from, to, action);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    public <K, V> V parallelReduceValues(ConcurrentIdentityMap<K, V> map,
+                                         BiFunction<? super V, ? super V, ? extends V> reducer) {
+        ConcurrentIdentityMap.Table table = map.settledTable();
+        return invoke(table.length, map.size(), (from, to) -> {
+            Reduction<V> r = new Reduction<>(reducer);
+            map.forEachInRange(table, from, to, (key, value) -> r.add(value));
+            return r.result;
+        }, (a, b) -> reducer.apply(a, b));
+    }
+
+    public <K, V, U> U parallelSearch(ConcurrentIdentityMap<K, V> map,
+                                      BiFunction<? super K, ? super V, ? extends U> search) {
+        ConcurrentIdentityMap.Table table = map.settledTable();
+        AtomicReference<U> found = new AtomicReference<>();
+        invoke(table.length, map.size(), (from, to) -> {
+            if (found.get() == null) { // another range already found one → skip
+                map.forEachInRange(table, from, to, (key, value) -> {
+                    U u = found.get() == null ? search.apply(key, value) : null;
+                    if (u != null) {
+                        found.compareAndSet(null, u);
+                    }
+                });
+            }
+            return null;
+        }, (a, b) -> null);
+        return found.get();
+    }
+
+    public <K, V> void parallelComputeAll(ConcurrentIdentityMap<K, V> map,
+                                          BiFunction<? super K, ? super V, ? extends V> remapping) {
+        parallelForEach(map, (key, value) -> map.computeIfPresent(key, remapping)); // CAS loop per key
+    }
+
+    // ---------------------------------------------------------------- ConcurrentLongObjectMap
+
+    public <V> void parallelForEach(ConcurrentLongObjectMap<V> map,
+                                    ConcurrentLongObjectMap.EntryConsumer<? super V> action) {
+        V zero = map.get(0L); // key 0 lives outside the table
+        if (zero != null) {
+            action.accept(0L, zero);
+        }
+        ConcurrentLongObjectMap.Table table = map.settledTable();
+        invoke(table.length, map.size(), (from, to) -> {
+            map.forEachInRange(table, from, to, action);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    public <V> V parallelReduceValues(ConcurrentLongObjectMap<V> map, BinaryOperator<V> reducer) {
+        ConcurrentLongObjectMap.Table table = map.settledTable();
+        V result = invoke(table.length, map.size(), (from, to) -> {
+            Reduction<V> r = new Reduction<>(reducer);
+            map.forEachInRange(table, from, to, (key, value) -> r.add(value));
+            return r.result;
+        }, reducer);
+        V zero = map.get(0L);
+        return zero == null ? result : result == null ? zero : reducer.apply(result, zero);
+    }
+
+    public <V, U> U parallelSearch(ConcurrentLongObjectMap<V> map, LongEntryFunction<? super V, ? extends U> search) {
+        V zero = map.get(0L);
+        U u = zero == null ? null : search.apply(0L, zero);
+        if (u != null) {
+            return u;
+        }
+        ConcurrentLongObjectMap.Table table = map.settledTable();
+        AtomicReference<U> found = new AtomicReference<>();
+        invoke(table.length, map.size(), (from, to) -> {
+            if (found.get() == null) {
+                map.forEachInRange(table, from, to, (key, value) -> {
+                    U r = found.get() == null ? search.apply(key, value) : null;
+                    if (r != null) {
+                        found.compareAndSet(null, r);
+                    }
+                });
+            }
+            return null;
+        }, (a, b) -> null);
+        return found.get();
+    }
+
+    /**
+     * Same contract as {@link #parallelComputeAll(ConcurrentHashMap, BiFunction)}: atomic
+     * per key through a replace/remove CAS loop.
+     */
+    public <V> void parallelComputeAll(ConcurrentLongObjectMap<V> map,
+                                       LongEntryFunction<? super V, ? extends V> remapping) {
+        parallelForEach(map, (key, value) -> {
+            V current = value;
+            while (current != null) {
+                V updated = remapping.apply(key, current);
+                if (updated == null ? map.remove(key, current) : map.replace(key, current, updated)) {
+                    return;
+                }
+                current = map.get(key); // changed concurrently → retry with the new value
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- fork/join over slot ranges
+
+    interface RangeFunction<R> {
+        R apply(int from, int to);
+    }
+
+    // Sequential reduction of one range; null = no value seen yet
+    private static final class Reduction<V> {
+        private final BiFunction<? super V, ? super V, ? extends V> reducer;
+        V result;
+
+        Reduction(BiFunction<? super V, ? super V, ? extends V> reducer) {
+            this.reducer = reducer;
+        }
+
+        void add(V value) {
+            result = result == null ? value : reducer.apply(result, value);
+        }
+    }
+
+    private <R> R invoke(int length, long size, RangeFunction<R> leaf, BiFunction<R, R, R> combine) {
+        if (size < parallelismThreshold) {
+            return leaf.apply(0, length); // small map → no tasks at all
+        }
+        return pool.invoke(new RangeTask<>(0, length, length, size, leaf, combine));
+    }
+
+    // 🔹 Halves its slot range until it holds about `threshold` entries, then runs the leaf
+    @SuppressWarnings("serial") // never serialized: tasks only live inside one ForkJoinPool run
+    private final class RangeTask<R> extends RecursiveTask<R> {
+        private final int from;
+        private final int to;
+        private final int length;
+        private final long size;
+        private final RangeFunction<R> leaf;
+        private final BiFunction<R, R, R> combine;
+
+        RangeTask(int from, int to, int length, long size, RangeFunction<R> leaf, BiFunction<R, R, R> combine) {
+            this.from = from;
+            this.to = to;
+            this.length = length;
+            this.size = size;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            long estimated = size * (to - from) / length; // entries are spread evenly by the hash
+            if (estimated <= parallelismThreshold || to - from < 2) {
+                return leaf.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<R> right = new RangeTask<>(mid, to, length, size, leaf, combine);
+            right.fork();
+            R left = new RangeTask<>(from, mid, length, size, leaf, combine).compute();
+            R r = right.join();
+            if (left == null) {
+                return r;
+            }
+            return r == null ? left : combine.apply(left, r);
+        }
+    }
+
+    // ---------------------------------------------------------------- demo
+
+    public static void main(String[] args) {
+        int n = 2_000_000;
+        ConcurrentHashMap<Integer, Long> prices = new ConcurrentHashMap<>(n);
+        ConcurrentLongObjectMap<Long> pricesById = new ConcurrentLongObjectMap<>(n);
+        for (int i = 0; i < n; i++) {
+            prices.put(i, (long) i % 1_000);
+            pricesById.put(i, (long) i % 1_000);
+        }
+
+        ForkJoinPool nightly = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ConcurrentMapBulkOps sequential = new ConcurrentMapBulkOps(nightly, Long.MAX_VALUE);
+        ConcurrentMapBulkOps parallel = new ConcurrentMapBulkOps(nightly, 10_000);
+
+        for (int round = 0; round < 3; round++) { // last round is the warmed-up one
+            long start = System.nanoTime();
+            Long total = sequential.parallelReduceValues(prices, Long::sum);
+            long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            Long totalParallel = parallel.parallelReduceValues(prices, Long::sum);
+            long parallelMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            Long totalById = parallel.parallelReduceValues(pricesById, Long::sum);
+            long byIdMs = (System.nanoTime() - start) / 1_000_000;
+            if (round == 2) {
+                System.out.println("Sum of 2M prices: sequential " + total + " in " + sequentialMs + " ms, parallel "
+                        + totalParallel + " in " + parallelMs + " ms, ConcurrentLongObjectMap " + totalById
+                        + " in " + byIdMs + " ms (" + nightly.getParallelism() + " workers)");
+            }
+        }
+
+        // 🔸 Nightly recomputation: +10% on every price, then find one that crossed a limit
+        parallel.parallelComputeAll(prices, (id, price) -> price + price / 10);
+        parallel.parallelComputeAll(pricesById, (id, price) -> price + price / 10);
+        Integer expensive = parallel.parallelSearch(prices, (id, price) -> price > 1_095 ? id : null);
+        Long expensiveById = parallel.parallelSearch(pricesById, (id, price) -> price > 1_095 ? id : null);
+        System.out.println("After +10%: price of key 999 = " + prices.get(999) + " / " + pricesById.get(999)
+                + ", some key above 1095: " + expensive + " / " + expensiveById);
+        nightly.shutdown();
+    }
+}
+
+/*
+ * 🚀 Parallel Bulk Operations on Concurrent Maps 🚀
+ *
+ * 🔹 Sequential: map.forEach(...) / map.entrySet().stream() → one thread walks everything.
+ *
+ * 🔹 ConcurrentHashMap built-ins (Java 8):
+ * - forEach / reduceValues / search (parallelismThreshold, function).
+ * - Split the bin array into ForkJoin tasks; run in the pool of the CALLING thread
+ * → submit them to a custom ForkJoinPool to keep nightly jobs off the common pool.
+ *
+ * 🔹 Open-addressing maps (ConcurrentIdentityMap, ConcurrentLongObjectMap):
+ * - Table = one array of slots → split [0, length) in halves (RecursiveTask).
+ * - Stop splitting when a range holds ≈ threshold entries (size × range / length).
+ * - Leaf walks its slots directly → no iterator, no entry objects.
+ *
+ * 🔹 Threshold:
+ * - Too small → task overhead dominates; too big → cores stay idle.
+ * - Long.MAX_VALUE → always sequential (useful for comparisons and tiny maps).
+ *
+ * ✅ All cores work on one big map, without streaming through entry views.
+ */
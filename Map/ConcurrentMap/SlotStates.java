@@ -0,0 +1,71 @@
+package Map.ConcurrentMap;
+
+/**
+ * Value-slot state machine shared by the lock-free tables {@link ConcurrentIdentityMap}
+ * and {@link ConcurrentLongObjectMap}: the marker objects a slot can hold, the
+ * "does the current value match what the caller expects" test, and the sizing rules.
+ * The two maps store keys differently, but a value slot behaves the same in both.
+ */
+final class SlotStates {
+
+    // 🔹 Value states: null = never set, TOMBSTONE = removed, Prime = being copied to the next table
+    static final Object TOMBSTONE = new Object();
+    static final Prime TOMBPRIME = new Prime(TOMBSTONE);
+
+    // Expected-value markers for putIfMatch
+    static final Object NO_MATCH_OLD = new Object(); // put(): any old value
+    static final Object MATCH_ANY = new Object();    // replace(): any present value
+
+    static final class Prime {
+        final Object value;
+
+        Prime(Object value) {
+            this.value = value;
+        }
+    }
+
+    private SlotStates() {
+    }
+
+    static boolean absent(Object value) {
+        return value == null || value == TOMBSTONE;
+    }
+
+    /**
+     * Whether {@code value} satisfies {@code expected}. putIfMatch writes only when this
+     * holds, so calling it on the value putIfMatch returns tells whether the write happened
+     * (conditional remove/replace must not compare that value by identity instead).
+     * {@code expected == null} is used only when copying: "the slot must never have been written".
+     */
+    static boolean matches(Object value, Object expected) {
+        if (expected == NO_MATCH_OLD) {
+            return true;
+        }
+        if (expected == null) {
+            return value == null;
+        }
+        if (expected == TOMBSTONE) {
+            return absent(value);
+        }
+        if (expected == MATCH_ANY) {
+            return !absent(value);
+        }
+        return !absent(value) && (value == expected || expected.equals(value));
+    }
+
+    static int reprobeLimit(int length) {
+        return 10 + (length >> 2);
+    }
+
+    // Length of the next table: x2 when a quarter of the slots are live, x4 from half
+    static int nextLength(int length, long liveEntries) {
+        int newLength = length;
+        if (liveEntries >= length >> 2) {
+            newLength <<= 1;
+        }
+        if (liveEntries >= length >> 1) {
+            newLength <<= 1;
+        }
+        return newLength;
+    }
+}
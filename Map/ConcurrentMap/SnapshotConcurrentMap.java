@@ -0,0 +1,403 @@
+package Map.ConcurrentMap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Concurrent map that can take consistent point-in-time snapshots while writers keep
+ * going. Every key holds a short chain of versions stamped with a global epoch:
+ * <ul>
+ *   <li>{@link #snapshot()} is O(1): it bumps the epoch and waits only for the writes that
+ *   were already running (at most one per writer thread). The snapshot then sees exactly
+ *   the versions stamped with the old epoch or earlier;</li>
+ *   <li>nothing is copied up front — reads walk the chains, and
+ *   {@link Snapshot#materialize()} builds a plain Map only when asked.</li>
+ * </ul>
+ * Old versions (and removed keys, as tombstones) are kept only while a snapshot that can
+ * see them is open; {@link Snapshot#close()} releases them. Null keys and values are not allowed.
+ */
+public class SnapshotConcurrentMap<K, V> {
+
+    private static final Object TOMBSTONE = new Object(); // value of a removed key
+    private static final long NO_SNAPSHOT = Long.MAX_VALUE;
+
+    // 🔹 Newest first; `older` is only ever cut, below what open snapshots can still see
+    static final class Version {
+        final long epoch;
+        final Object value;
+        volatile Version older;
+
+        Version(long epoch, Object value, Version older) {
+            this.epoch = epoch;
+            this.value = value;
+            this.older = older;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Version> map;
+    private final LongAdder size = new LongAdder();
+
+    // Keys whose chain holds old versions or a tombstone → the only ones close() has to prune
+    private final ConcurrentHashMap<K, Boolean> history = new ConcurrentHashMap<>();
+
+    private volatile long epoch;
+    // Writers in flight, by parity of the epoch they stamp with. AtomicLong, not LongAdder:
+    // snapshot() needs an exact "is it zero now", which LongAdder.sum() does not give
+    private final AtomicLong[] inFlight = {new AtomicLong(), new AtomicLong()};
+
+    private final TreeMap<Long, Integer> openSnapshots = new TreeMap<>(); // epoch → count, guarded by this
+    private volatile long oldestSnapshot = NO_SNAPSHOT;
+
+    public SnapshotConcurrentMap() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    public SnapshotConcurrentMap(int expectedSize) {
+        this.map = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    // ---------------------------------------------------------------- current state
+
+    private static Object live(Version head) {
+        return head == null || head.value == TOMBSTONE ? null : head.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    public V get(Object key) {
+        return cast(live(map.get(key)));
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        long sum = size.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Current mappings, weakly consistent like ConcurrentHashMap's iteration.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        map.forEach((key, head) -> {
+            Object value = live(head);
+            if (value != null) {
+                action.accept(key, cast(value));
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Object[] old = new Object[1];
+        compute(key, (k, v) -> {
+            old[0] = v;
+            return value;
+        });
+        return cast(old[0]);
+    }
+
+    public V remove(Object key) {
+        Object[] old = new Object[1];
+        @SuppressWarnings("unchecked")
+        K k = (K) key;
+        compute(k, (kk, v) -> {
+            old[0] = v;
+            return null;
+        });
+        return cast(old[0]);
+    }
+
+    /**
+     * Atomic per key, like {@link ConcurrentHashMap#compute}; returning null removes the key.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(key, "key");
+        long e = enter();
+        try {
+            Version head = map.compute(key, (k, current) -> {
+                Object old = live(current);
+                V updated = remapping.apply(k, cast(old));
+                if (updated == null && old == null) {
+                    return current == null ? null : track(k, prune(current));
+                }
+                size.add((updated != null ? 1 : 0) - (old != null ? 1 : 0));
+                Object value = updated == null ? TOMBSTONE : updated;
+                // A write that started before a snapshot but lands after a newer-epoch write of
+                // this key must not slip under it → never stamp lower than the current head
+                long stamp = current == null ? e : Math.max(e, current.epoch);
+                // 🔸 Same epoch → no snapshot can tell the two apart, replace instead of chaining
+                Version older = current != null && current.epoch == stamp ? current.older : current;
+                return track(k, prune(new Version(stamp, value, older)));
+            });
+            return cast(live(head));
+        } finally {
+            exit(e);
+        }
+    }
+
+    // 🔹 Writer registers under its epoch's parity; re-check so snapshot() cannot miss it
+    private long enter() {
+        while (true) {
+            long e = epoch;
+            AtomicLong counter = inFlight[(int) (e & 1)];
+            counter.incrementAndGet();
+            if (epoch == e) {
+                return e;
+            }
+            counter.decrementAndGet(); // a snapshot started meanwhile → stamp with the new epoch
+        }
+    }
+
+    private void exit(long e) {
+        inFlight[(int) (e & 1)].decrementAndGet();
+    }
+
+    // 🔹 Records whether close() must revisit this key; runs under the key's bin lock, like every change of it
+    private Version track(K key, Version head) {
+        if (head != null && (head.older != null || head.value == TOMBSTONE)) {
+            if (!history.containsKey(key)) {
+                history.put(key, Boolean.TRUE);
+            }
+        } else if (history.containsKey(key)) {
+            history.remove(key);
+        }
+        return head;
+    }
+
+    /**
+     * Drops versions no open snapshot can see (called under the key's bin lock). Keeps
+     * every version newer than the oldest snapshot plus the newest one at or before it.
+     * Returns null when the key can disappear completely.
+     */
+    private Version prune(Version head) {
+        long oldest = oldestSnapshot;
+        if (oldest == NO_SNAPSHOT) {
+            head.older = null;
+            return head.value == TOMBSTONE ? null : head;
+        }
+        Version v = head;
+        while (v.epoch > oldest && v.older != null) {
+            v = v.older;
+        }
+        v.older = null;
+        return head;
+    }
+
+    // ---------------------------------------------------------------- snapshots
+
+    /**
+     * Starts a snapshot of the current state; close it to release the old versions it pins.
+     */
+    public synchronized Snapshot snapshot() {
+        long s = epoch;
+        openSnapshots.merge(s, 1, Integer::sum);
+        oldestSnapshot = openSnapshots.firstKey(); // published BEFORE new-epoch writers can prune
+        epoch = s + 1;
+        // Writes stamped s that are still running must finish before the snapshot is read
+        AtomicLong running = inFlight[(int) (s & 1)];
+        while (running.get() != 0) {
+            Thread.onSpinWait();
+        }
+        return new Snapshot(s);
+    }
+
+    private void release(long s) {
+        synchronized (this) {
+            openSnapshots.compute(s, (k, count) -> count == 1 ? null : count - 1);
+            oldestSnapshot = openSnapshots.isEmpty() ? NO_SNAPSHOT : openSnapshots.firstKey();
+        }
+        // Purge versions and tombstones nobody can see anymore; keys without history are not touched
+        history.forEachKey(1, key -> map.computeIfPresent(key, (k, current) -> track(k, prune(current))));
+    }
+
+    /**
+     * Read-only view of the map as of {@link SnapshotConcurrentMap#snapshot()}.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long epoch;
+        private volatile boolean closed;
+        private volatile Map<K, V> materialized;
+
+        Snapshot(long epoch) {
+            this.epoch = epoch;
+        }
+
+        // Newest value stamped at or before this snapshot's epoch
+        private Object valueAt(Version head) {
+            Version v = head;
+            while (v != null && v.epoch > epoch) {
+                v = v.older;
+            }
+            return v == null || v.value == TOMBSTONE ? null : v.value;
+        }
+
+        private void ensureOpen() {
+            if (closed) {
+                throw new IllegalStateException("snapshot is closed");
+            }
+        }
+
+        public V get(Object key) {
+            ensureOpen();
+            return cast(valueAt(map.get(key)));
+        }
+
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        /**
+         * Visits every mapping of the snapshot. Keys present at snapshot time stay in the
+         * underlying map while it is open, so the weakly consistent walk sees all of them.
+         */
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            ensureOpen();
+            map.forEach((key, head) -> {
+                Object value = valueAt(head);
+                if (value != null) {
+                    action.accept(key, cast(value));
+                }
+            });
+        }
+
+        // 🔸 Lazy: the copy is built on first use only (e.g. by the checkpoint writer thread)
+        public Map<K, V> materialize() {
+            Map<K, V> copy = materialized;
+            if (copy == null) {
+                synchronized (this) {
+                    copy = materialized;
+                    if (copy == null) {
+                        Map<K, V> m = new HashMap<>();
+                        forEach(m::put);
+                        materialized = copy = Collections.unmodifiableMap(m);
+                    }
+                }
+            }
+            return copy;
+        }
+
+        public int size() {
+            return materialize().size();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                }
+                release(epoch);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- demo
+
+    public static void main(String[] args) throws InterruptedException {
+        SnapshotConcurrentMap<String, Integer> stock = new SnapshotConcurrentMap<>();
+        stock.put("apple", 10);
+        stock.put("banana", 5);
+        try (SnapshotConcurrentMap<String, Integer>.Snapshot before = stock.snapshot()) {
+            stock.put("apple", 7);
+            stock.remove("banana");
+            stock.put("cherry", 3);
+            System.out.println("Now: apple=" + stock.get("apple") + ", banana=" + stock.get("banana")
+                    + " | snapshot: " + new TreeMap<>(before.materialize()));
+        }
+
+        // 🔸 A writer sweeps keys 0..n-1 writing the round number. Any consistent cut looks like
+        // [r, r, ..., r, r-1, ..., r-1]; a mixed read can show a gap or a newer value after an older one.
+        int n = 10_000;
+        int checkpoints = 200;
+        SnapshotConcurrentMap<Integer, Integer> state = new SnapshotConcurrentMap<>(n);
+        ConcurrentHashMap<Integer, Integer> plain = new ConcurrentHashMap<>(n);
+        for (int i = 0; i < n; i++) {
+            state.put(i, 0);
+            plain.put(i, 0);
+        }
+        Thread writer = new Thread(() -> {
+            for (int round = 1; !Thread.currentThread().isInterrupted(); round++) {
+                for (int i = 0; i < n; i++) {
+                    state.put(i, round);
+                    plain.put(i, round);
+                }
+            }
+        });
+        writer.start();
+        int torn = 0;
+        int tornSnapshots = 0;
+        for (int c = 0; c < checkpoints; c++) {
+            int[] live = new int[n];
+            plain.forEach((key, value) -> live[key] = value);
+            if (!consistent(live)) {
+                torn++;
+            }
+            try (SnapshotConcurrentMap<Integer, Integer>.Snapshot snapshot = state.snapshot()) {
+                int[] values = new int[n];
+                snapshot.forEach((key, value) -> values[key] = value);
+                if (!consistent(values)) {
+                    tornSnapshots++;
+                }
+            }
+        }
+        writer.interrupt();
+        writer.join();
+        System.out.println(checkpoints + " checkpoints while writing: ConcurrentHashMap iteration inconsistent "
+                + torn + " times, SnapshotConcurrentMap " + tornSnapshots + " times");
+    }
+
+    // Non-increasing, and at most one step of 1
+    private static boolean consistent(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[i - 1]) {
+                return false;
+            }
+        }
+        return values[0] - values[values.length - 1] <= 1;
+    }
+}
+
+/*
+ * 🚀 Point-in-Time Snapshots of a Concurrent Map 🚀
+ *
+ * 🔹 Problem:
+ * - ConcurrentHashMap iteration is weakly consistent: each entry is read at a different
+ * moment → a checkpoint can mix old and new values (a state that never existed).
+ * - Copying under a global lock → writers stop for the whole copy.
+ *
+ * 🔹 Versioned entries (MVCC):
+ * - Global epoch counter. Each write creates Version(epoch, value) on top of the key's chain.
+ * - snapshot(): s = epoch; epoch = s + 1 → later writes are stamped s + 1 and are invisible to it.
+ * - Writes that read epoch s but have not finished yet: counted per parity (s & 1)
+ * → snapshot waits until that counter is 0 (a few microseconds, never a full copy).
+ * - Snapshot read: newest version with epoch ≤ s. Removed key = TOMBSTONE version.
+ *
+ * 🔹 Garbage:
+ * - Keep old versions only down to the oldest OPEN snapshot.
+ * - Writes prune their own chain; keys left with old versions or a tombstone are recorded.
+ * - close() → prunes only those recorded keys, not the whole map.
+ *
+ * 🔹 Lazy:
+ * - snapshot() copies nothing; materialize() builds a HashMap only if the caller needs one.
+ *
+ * ✅ Consistent checkpoints of large in-memory state, writers never stop.
+ */
@@ -0,0 +1,100 @@
+package Map.Hashmap;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of cache statistics, produced by {@link StatsCounter#snapshot()}.
+ */
+public final class CacheStats {
+
+    static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, 0, new long[0]);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long evictionCount;
+    private final long evictionWeight;
+    private final long[] hotnessHistogram;
+
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+            long totalLoadTimeNanos, long evictionCount, long evictionWeight, long[] hotnessHistogram) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.hotnessHistogram = hotnessHistogram.clone();
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    // 🔹 1.0 when nothing was requested yet (no misses = perfect)
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double missRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    // 🔹 Average time spent per load (success or failure)
+    public double averageLoadPenaltyNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTimeNanos / loads;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * Accesses grouped by the key's estimated frequency at access time:
+     * [1], [2-3], [4-7], [8-14], [15+]. Empty if hotness tracking is off.
+     */
+    public long[] hotnessHistogram() {
+        return hotnessHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", misses=" + missCount
+                + String.format(", hitRate=%.2f", hitRate())
+                + ", loadSuccess=" + loadSuccessCount + ", loadFailure=" + loadFailureCount
+                + ", totalLoadTimeNanos=" + totalLoadTimeNanos
+                + ", evictions=" + evictionCount + ", evictionWeight=" + evictionWeight
+                + (hotnessHistogram.length == 0 ? "" : ", hotness=" + Arrays.toString(hotnessHistogram))
+                + "}";
+    }
+}
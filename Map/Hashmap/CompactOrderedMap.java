@@ -0,0 +1,569 @@
+package Map.Hashmap;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion-ordered map laid out like CPython's dict: entries are appended to dense
+ * parallel arrays (hash, key, value) in insertion order, and a separate open-addressing
+ * index table stores only small entry numbers — {@code byte}, {@code short} or
+ * {@code int} depending on the capacity. Iteration is a linear scan of the arrays, and
+ * there are no per-entry objects or before/after links as in {@link LinkedHashMap}.
+ * Removed entries leave a tombstone; the arrays are compacted once tombstones pile up.
+ * Null keys and values are allowed. Not thread-safe.
+ */
+public class CompactOrderedMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Object DELETED = new Object(); // key of a removed entry
+    private static final int MIN_INDEX = 8;
+
+    // 🔹 Dense entry arrays, in insertion order (0 .. used-1, tombstones included)
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
+    private int used;
+    private int size;
+    private int modCount;
+
+    // 🔹 Index table: entry number + 1 (0 = empty slot); only one array is in use
+    private byte[] index8;
+    private short[] index16;
+    private int[] index32;
+    private int indexMask;
+
+    public CompactOrderedMap() {
+        this(0);
+    }
+
+    public CompactOrderedMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(indexLengthFor(expectedSize));
+    }
+
+    // Index length is a power of two; entries may fill 2/3 of it (like CPython)
+    private static int indexLengthFor(int entries) {
+        if (entries > (1 << 30) / 3 * 2) {
+            throw new IllegalArgumentException("expectedSize too large: " + entries);
+        }
+        int length = MIN_INDEX;
+        while (length * 2L / 3 < entries) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    private void allocate(int indexLength) {
+        int capacity = indexLength * 2 / 3;
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        indexMask = indexLength - 1;
+        index8 = null;
+        index16 = null;
+        index32 = null;
+        // 🔸 Smallest integer type that can hold every entry number + 1
+        if (capacity < 0xFF) {
+            index8 = new byte[indexLength];
+        } else if (capacity < 0xFFFF) {
+            index16 = new short[indexLength];
+        } else {
+            index32 = new int[indexLength];
+        }
+    }
+
+    private int slot(int i) {
+        if (index8 != null) {
+            return index8[i] & 0xFF;
+        }
+        return index16 != null ? index16[i] & 0xFFFF : index32[i];
+    }
+
+    private void setSlot(int i, int value) {
+        if (index8 != null) {
+            index8[i] = (byte) value;
+        } else if (index16 != null) {
+            index16[i] = (short) value;
+        } else {
+            index32[i] = value;
+        }
+    }
+
+    static int hash(Object key) {
+        int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Index slot whose entry holds key, or ~(first empty slot) if absent
+    private int findSlot(Object key, int hash) {
+        for (int i = hash & indexMask; ; i = (i + 1) & indexMask) {
+            int s = slot(i);
+            if (s == 0) {
+                return ~i;
+            }
+            int e = s - 1;
+            // Tombstoned entries stay in the index so that probe chains are not broken
+            if (hashes[e] == hash && keys[e] != DELETED && Objects.equals(keys[e], key)) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = findSlot(key, hash(key));
+        return i < 0 ? null : (V) values[slot(i) - 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int i = findSlot(key, hash);
+        if (i >= 0) {
+            int e = slot(i) - 1;
+            V old = (V) values[e];
+            values[e] = value; // replacing keeps the original position
+            return old;
+        }
+        if (used == keys.length) {
+            resize();
+            i = findSlot(key, hash);
+        }
+        hashes[used] = hash;
+        keys[used] = key;
+        values[used] = value;
+        setSlot(~i, ++used);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    // Widens index and entry arrays in one rebuild; insertion order is unchanged
+    public void ensureCapacity(int expectedSize) {
+        int indexLength = indexLengthFor(expectedSize);
+        if (indexLength > indexMask + 1) {
+            rebuild(indexLength);
+        }
+    }
+
+    public void putAll(K[] keys, V[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int i = findSlot(key, hash(key));
+        if (i < 0) {
+            return null;
+        }
+        int e = slot(i) - 1;
+        V old = (V) values[e];
+        removeEntry(e);
+        return old;
+    }
+
+    private void removeEntry(int e) {
+        keys[e] = DELETED;
+        values[e] = null;
+        size--;
+        modCount++;
+        // 🔹 Delete-heavy use: compact when tombstones outnumber live entries
+        int tombstones = used - size;
+        if (tombstones > size && tombstones >= MIN_INDEX) {
+            rebuild(indexLengthFor(Math.max(size, 1) * 2));
+        }
+    }
+
+    // Full entry arrays: compact if many are tombstones, otherwise double
+    private void resize() {
+        int tombstones = used - size;
+        int indexLength = indexMask + 1;
+        rebuild(tombstones >= used / 4 ? indexLength : indexLength * 2);
+    }
+
+    // Copies live entries to the front of fresh arrays (order kept) and re-indexes them
+    private void rebuild(int indexLength) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsed = used;
+        allocate(indexLength);
+        used = 0;
+        for (int e = 0; e < oldUsed; e++) {
+            if (oldKeys[e] == DELETED) {
+                continue;
+            }
+            int i = oldHashes[e] & indexMask;
+            while (slot(i) != 0) {
+                i = (i + 1) & indexMask;
+            }
+            hashes[used] = oldHashes[e];
+            keys[used] = oldKeys[e];
+            values[used] = oldValues[e];
+            setSlot(i, ++used);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0 || used > 0) {
+            allocate(MIN_INDEX);
+            used = 0;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    // Index width in bytes per slot (1, 2 or 4) — for the demo
+    int indexWidth() {
+        return index8 != null ? 1 : index16 != null ? 2 : 4;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int e = 0; e < used; e++) {
+            if (keys[e] != DELETED && Objects.equals(values[e], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // 🔹 keySet() and values() read keys[] / values[] directly: no entry object per element
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new KeyIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                int i = findSlot(o, hash(o));
+                if (i < 0) {
+                    return false;
+                }
+                removeEntry(slot(i) - 1);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CompactOrderedMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+
+            @Override
+            public void clear() {
+                CompactOrderedMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator extends ArrayIterator<Map.Entry<K, V>> {
+        @Override
+        Map.Entry<K, V> element(int entry) {
+            return new EntryView(entry);
+        }
+    }
+
+    private final class KeyIterator extends ArrayIterator<K> {
+        @Override
+        @SuppressWarnings("unchecked")
+        K element(int entry) {
+            return (K) keys[entry];
+        }
+    }
+
+    private final class ValueIterator extends ArrayIterator<V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        V element(int entry) {
+            return (V) values[entry];
+        }
+    }
+
+    // 🔹 Plain array scan in insertion order, skipping tombstones
+    private abstract class ArrayIterator<T> implements Iterator<T> {
+        private int next = -1;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        ArrayIterator() {
+            advance();
+        }
+
+        abstract T element(int entry);
+
+        private void advance() {
+            do {
+                next++;
+            } while (next < used && keys[next] == DELETED);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return element(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            Object[] before = keys;
+            removeEntry(last);
+            if (keys != before) {
+                // Compacted: the entries before `last` moved to the front, continue right after them
+                next = countLive(before, last);
+            }
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private int countLive(Object[] oldKeys, int upTo) {
+            int live = 0;
+            for (int e = 0; e < upTo; e++) {
+                if (oldKeys[e] != DELETED) {
+                    live++;
+                }
+            }
+            return live;
+        }
+    }
+
+    // Entry backed by the arrays: setValue() writes through, even after a rebuild moved the entry
+    private final class EntryView implements Map.Entry<K, V> {
+        private final K key;
+        private V value;            // last value seen, returned once the key is removed
+        private Object[] keysArray; // arrays the entry number belongs to
+        private int entry;
+
+        @SuppressWarnings("unchecked")
+        EntryView(int entry) {
+            this.key = (K) keys[entry];
+            this.value = (V) values[entry];
+            this.keysArray = keys;
+            this.entry = entry;
+        }
+
+        // 🔹 Current entry number of the key, or -1 if it was removed
+        private int locate() {
+            if (keysArray != keys || keysArray[entry] != key) {
+                int i = findSlot(key, hash(key));
+                if (i < 0) {
+                    return -1;
+                }
+                keysArray = keys;
+                entry = slot(i) - 1;
+            }
+            return entry;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            int e = locate();
+            if (e >= 0) {
+                value = (V) values[e];
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(V newValue) {
+            V old = getValue();
+            int e = locate();
+            if (e >= 0) {
+                values[e] = newValue;
+            }
+            value = newValue;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, Integer> fruits = new CompactOrderedMap<>();
+        fruits.put("banana", 9);
+        fruits.put("apple", 8);
+        fruits.put("orange", 10);
+        fruits.put("grapes", 12);
+        fruits.remove("apple");
+        fruits.put("apple", 7); // re-inserted → goes to the end
+        fruits.put("banana", 1); // update → keeps its position
+        System.out.println("Insertion order: " + fruits);
+
+        // 🔸 Ordered iteration over 1M entries: dense arrays vs linked nodes
+        int n = 1_000_000;
+        CompactOrderedMap<Integer, Integer> compact = new CompactOrderedMap<>();
+        Map<Integer, Integer> linked = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            compact.put(i, i);
+            linked.put(i, i);
+        }
+        for (int round = 0; round < 3; round++) { // last round is the warmed-up one
+            long start = System.nanoTime();
+            long sum = 0;
+            for (Integer v : compact.values()) {
+                sum += v;
+            }
+            long compactMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (Integer v : linked.values()) {
+                sum -= v;
+            }
+            long linkedMs = (System.nanoTime() - start) / 1_000_000;
+            if (round == 2) {
+                System.out.println("Iterate 1M: CompactOrderedMap " + compactMs + " ms, LinkedHashMap " + linkedMs + " ms (check " + sum + ")");
+            }
+        }
+        System.out.println("Index slot width: " + compact.indexWidth() + " bytes; same content? " + compact.equals(linked));
+
+        // 🔸 Delete-heavy: tombstones are compacted, order is kept
+        for (int i = 0; i < n; i++) {
+            if (i % 10 != 0) {
+                compact.remove(i);
+            }
+        }
+        System.out.println("After removing 90%: size " + compact.size() + ", first keys "
+                + compact.keySet().stream().limit(3).toList() + ", index width " + compact.indexWidth());
+    }
+}
+
+/*
+ * 🚀 Compact Ordered Map (CPython dict layout) 🚀
+ *
+ * 🔹 LinkedHashMap:
+ * - One Entry object per mapping: hash, key, value, next + before/after links (~40 bytes).
+ * - Iteration follows pointers → objects scattered over the heap → cache misses.
+ *
+ * 🔹 Compact layout:
+ * - entries: hashes[], keys[], values[] → appended in insertion order (dense).
+ * - index: power-of-two table of small ints ("entry number + 1"), linear probing.
+ * - Index slot is 1 byte (< 255 entries), 2 bytes (< 65535) or 4 bytes.
+ * - Per entry ≈ 12 bytes of arrays + 1.5 index slots, no Entry objects.
+ *
+ * 🔹 Remove:
+ * - Entry becomes a tombstone (the index still points to it so probing keeps working).
+ * - Tombstones > live entries → compact: copy live entries forward, rebuild the index.
+ *
+ * ✅ Ordered iteration = simple array scan → fast and cache-friendly.
+ */
@@ -0,0 +1,263 @@
+package Map.Hashmap;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache built from several independent {@link LRUCache} segments.
+ * Each key is routed to one segment by its hash, and every segment has its own lock,
+ * so threads working on different segments never wait for each other.
+ * The per-segment {@link EvictionPolicy} defaults to plain LRU.
+ */
+public class ConcurrentLRUCache<K, V> {
+
+    // 🔹 One segment = one bounded map (LRUCache by default) + one lock
+    static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<K, V> map;
+
+        Segment(int capacity, EvictionPolicy policy, StatsCounter stats) {
+            this.map = policy.newSegment(capacity, stats);
+        }
+    }
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int capacity;
+    private final StatsCounter stats;
+
+    public ConcurrentLRUCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel) {
+        this(capacity, concurrencyLevel, EvictionPolicy.LRU);
+    }
+
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel, EvictionPolicy policy) {
+        this(capacity, concurrencyLevel, policy, StatsCounter.disabled());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel, EvictionPolicy policy, StatsCounter stats) {
+        if (capacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("capacity and concurrencyLevel must be positive");
+        }
+        // 🔹 Segment count is a power of two (cheap masking), never more than the capacity
+        int count = 1;
+        while (count < concurrencyLevel && count < capacity) {
+            count <<= 1;
+        }
+        this.capacity = capacity;
+        this.stats = stats;
+        this.segmentMask = count - 1;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+
+        // 🔹 Split the capacity across segments (first ones take the remainder)
+        int base = capacity / count;
+        int extra = capacity % count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(base + (i < extra ? 1 : 0), policy, stats);
+        }
+    }
+
+    // 🔹 Spread the hash bits (same idea as HashMap.hash()) before picking a segment
+    static int spread(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    Segment<K, V> segmentFor(Object key) {
+        return segments[spread(key) & segmentMask];
+    }
+
+    public V get(K key) {
+        V value = getQuietly(key);
+        // Counted outside the lock; a null value counts as a miss
+        if (value != null) {
+            stats.recordHit(key);
+        } else {
+            stats.recordMiss(key);
+        }
+        return value;
+    }
+
+    // 🔹 get() without recording a hit/miss (for wrappers that keep their own counts)
+    V getQuietly(K key) {
+        Segment<K, V> s = segmentFor(key);
+        // get() re-links the entry (access order), so even reads need the segment lock
+        s.lock.lock();
+        try {
+            return s.map.get(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public V put(K key, V value) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.map.put(key, value);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.map.putIfAbsent(key, value);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.map.remove(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public boolean containsKey(K key) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.map.containsKey(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // 🔹 Sum of segment sizes (each segment is read under its own lock)
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                total += s.map.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    public void clear() {
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                s.map.clear();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                if (!s.map.isEmpty()) {
+                    if (sb.length() > 1) {
+                        sb.append(", ");
+                    }
+                    sb.append(s.map);
+                }
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // 1 segment → behaves exactly like LRUCache
+        ConcurrentLRUCache<String, Integer> single = new ConcurrentLRUCache<>(3, 1);
+        single.put("Bob", 99);
+        single.put("Ram", 89);
+        single.put("Shreya", 50);
+        single.get("Bob");          // Bob becomes most recently used
+        single.put("Rohit", 78);    // Ram (least recently used) is evicted
+        System.out.println("Single segment: " + single);
+
+        // Many threads reading/writing one shared cache
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(1_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 10_000;
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    cache.put(offset + i, "v" + i);
+                    cache.get(offset + i / 2);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.println("Segments: " + cache.segmentCount());
+        System.out.println("Size after 80,000 puts (capacity " + cache.capacity() + "): " + cache.size());
+
+        // Same cache, but each segment uses Window-TinyLFU admission
+        ConcurrentLRUCache<Integer, String> scanResistant =
+                new ConcurrentLRUCache<>(1_000, 4, EvictionPolicy.WINDOW_TINY_LFU);
+        for (int i = 0; i < 5_000; i++) {
+            scanResistant.put(i, "v" + i);
+        }
+        System.out.println("W-TinyLFU size: " + scanResistant.size());
+    }
+}
+
+/*
+ * 🚀 ConcurrentLRUCache – Lock Striping 🚀
+ *
+ * 🔹 Problem:
+ * - LRUCache uses LinkedHashMap(accessOrder = true).
+ * - Every get() MOVES the entry to the end of the linked list → a read is a write.
+ * - So one global lock (Collections.synchronizedMap) would serialize all threads.
+ *
+ * 🔹 Solution – Segments:
+ * - Keys are split into N segments by hash (N = power of two).
+ * - Each segment is its own small LRUCache with its own ReentrantLock.
+ * - Threads touching different segments run in parallel.
+ *
+ * 🔹 Capacity:
+ * - Total capacity is divided between segments.
+ * - Eviction happens per segment → LRU order is approximate across the whole cache
+ * (the evicted entry is the oldest in ITS segment, not globally).
+ *
+ * 🔹 Policy:
+ * - EvictionPolicy.LRU → each segment is an LRUCache.
+ * - EvictionPolicy.WINDOW_TINY_LFU → each segment is a WindowTinyLfuCache.
+ *
+ * 🔹 Stats:
+ * - Pass a ConcurrentStatsCounter to count hits, misses and evictions (stats()).
+ * - Default is StatsCounter.disabled() → nothing is counted.
+ *
+ * ✅ Same idea as the old (Java 7) ConcurrentHashMap segments.
+ */
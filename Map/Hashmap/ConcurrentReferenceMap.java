@@ -0,0 +1,557 @@
+package Map.Hashmap;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe replacement for {@link java.util.WeakHashMap}. Keys can be held
+ * weakly or softly, values strongly, weakly or softly ({@link Strength}); an entry
+ * disappears once its key or value is garbage collected. Keys are compared with equals().
+ * Like {@link ConcurrentLRUCache} the map is split into segments with one lock each,
+ * but reads take no lock at all. Collected entries are removed in small steps: every
+ * write drains a few references from the segment's ReferenceQueue, and about one read in
+ * 64 (picked at random, so reads share no counter) does the same if the lock is free. Null keys and values are not allowed.
+ */
+public class ConcurrentReferenceMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    // 🔹 At most this many collected references are cleaned up per operation
+    private static final int DRAIN_MAX = 16;
+    private static final int DRAIN_READ_MASK = 0x3F;
+
+    /**
+     * How strongly a key or value is held.
+     */
+    public enum Strength {
+        STRONG {
+            @Override
+            Object reference(Object referent, int hash, ReferenceQueue<Object> queue) {
+                return referent;
+            }
+        },
+        // Cleared at the next GC once nothing else points to the object
+        WEAK {
+            @Override
+            Object reference(Object referent, int hash, ReferenceQueue<Object> queue) {
+                return new WeakEntryReference(referent, hash, queue);
+            }
+        },
+        // Cleared only when the JVM is running low on memory
+        SOFT {
+            @Override
+            Object reference(Object referent, int hash, ReferenceQueue<Object> queue) {
+                return new SoftEntryReference(referent, hash, queue);
+            }
+        };
+
+        abstract Object reference(Object referent, int hash, ReferenceQueue<Object> queue);
+    }
+
+    // References remember the hash so a collected entry can be found without its key
+    private interface HashedReference {
+        int hash();
+    }
+
+    private static final class WeakEntryReference extends WeakReference<Object> implements HashedReference {
+        private final int hash;
+
+        WeakEntryReference(Object referent, int hash, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hash() {
+            return hash;
+        }
+    }
+
+    private static final class SoftEntryReference extends SoftReference<Object> implements HashedReference {
+        private final int hash;
+
+        SoftEntryReference(Object referent, int hash, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hash() {
+            return hash;
+        }
+    }
+
+    // 🔹 key/value field holds either the object itself (STRONG) or a Reference to it
+    @SuppressWarnings("unchecked")
+    private static <T> T deref(Object stored) {
+        return stored instanceof HashedReference ? (T) ((Reference<?>) stored).get() : (T) stored;
+    }
+
+    private static void clearReference(Object stored) {
+        if (stored instanceof HashedReference) {
+            ((Reference<?>) stored).clear(); // no longer needs to be enqueued
+        }
+    }
+
+    // next is final: readers walk chains without a lock, writers copy instead of relinking
+    static final class Entry<K, V> {
+        final int hash;
+        final Object key;
+        volatile Object value;
+        final Entry<K, V> next;
+
+        Entry(int hash, Object key, Object value, Entry<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        volatile AtomicReferenceArray<Entry<K, V>> table = new AtomicReferenceArray<>(16);
+        volatile int count;
+
+        V get(Object key, int hash) {
+            AtomicReferenceArray<Entry<K, V>> tab = table;
+            for (Entry<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash && key.equals(deref(e.key))) {
+                    V value = deref(e.value);
+                    afterRead();
+                    return value;
+                }
+            }
+            afterRead();
+            return null;
+        }
+
+        // 🔹 Sampled with a thread-local random: a shared read counter would be a contended write per get()
+        private void afterRead() {
+            if ((ThreadLocalRandom.current().nextInt() & DRAIN_READ_MASK) == 0 && lock.tryLock()) {
+                try {
+                    drain(DRAIN_MAX);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        // onlyIfPresent / onlyIfAbsent / expected (null = any) cover put, putIfAbsent, replace
+        V put(K key, int hash, V value, boolean onlyIfAbsent, boolean onlyIfPresent, Object expected) {
+            lock.lock();
+            try {
+                drain(DRAIN_MAX);
+                AtomicReferenceArray<Entry<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                for (Entry<K, V> e = tab.get(index); e != null; e = e.next) {
+                    if (e.hash == hash && key.equals(deref(e.key))) {
+                        V old = deref(e.value);
+                        if (old == null && !onlyIfPresent) {
+                            // Value was collected but not yet drained → treat as a fresh entry
+                            clearReference(e.value);
+                            e.value = valueStrength.reference(value, hash, queue);
+                            return null;
+                        }
+                        if (old == null || onlyIfAbsent || (expected != null && !expected.equals(old))) {
+                            return old;
+                        }
+                        clearReference(e.value);
+                        e.value = valueStrength.reference(value, hash, queue);
+                        return old;
+                    }
+                }
+                if (onlyIfPresent) {
+                    return null;
+                }
+                if (count + 1 > tab.length() * 3 / 4) {
+                    tab = rehash(tab);
+                    index = hash & (tab.length() - 1);
+                }
+                Object keyRef = keyStrength.reference(key, hash, queue);
+                Object valueRef = valueStrength.reference(value, hash, queue);
+                tab.set(index, new Entry<>(hash, keyRef, valueRef, tab.get(index)));
+                count++;
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        V remove(Object key, int hash, Object expected) {
+            lock.lock();
+            try {
+                drain(DRAIN_MAX);
+                AtomicReferenceArray<Entry<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                for (Entry<K, V> e = tab.get(index); e != null; e = e.next) {
+                    if (e.hash == hash && key.equals(deref(e.key))) {
+                        V old = deref(e.value);
+                        if (old == null || (expected != null && !expected.equals(old))) {
+                            return null;
+                        }
+                        unlink(tab, index, e);
+                        return old;
+                    }
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 🔹 Removes entries whose key/value the GC has cleared (caller holds the lock)
+        void drain(int max) {
+            for (int i = 0; i < max; i++) {
+                Reference<?> ref = queue.poll();
+                if (ref == null) {
+                    return;
+                }
+                AtomicReferenceArray<Entry<K, V>> tab = table;
+                int index = ((HashedReference) ref).hash() & (tab.length() - 1);
+                for (Entry<K, V> e = tab.get(index); e != null; e = e.next) {
+                    if (e.key == ref || e.value == ref) {
+                        unlink(tab, index, e);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Entries before the removed one are copied; the rest of the chain is shared
+        private void unlink(AtomicReferenceArray<Entry<K, V>> tab, int index, Entry<K, V> target) {
+            Entry<K, V> head = target.next;
+            for (Entry<K, V> e = tab.get(index); e != target; e = e.next) {
+                head = new Entry<>(e.hash, e.key, e.value, head);
+            }
+            tab.set(index, head);
+            clearReference(target.key);
+            clearReference(target.value);
+            count--;
+        }
+
+        private AtomicReferenceArray<Entry<K, V>> rehash(AtomicReferenceArray<Entry<K, V>> old) {
+            AtomicReferenceArray<Entry<K, V>> tab = new AtomicReferenceArray<>(old.length() * 2);
+            int live = 0;
+            for (int i = 0; i < old.length(); i++) {
+                for (Entry<K, V> e = old.get(i); e != null; e = e.next) {
+                    if (deref(e.key) == null || deref(e.value) == null) {
+                        continue; // collected: drop now instead of copying
+                    }
+                    int index = e.hash & (tab.length() - 1);
+                    tab.set(index, new Entry<>(e.hash, e.key, e.value, tab.get(index)));
+                    live++;
+                }
+            }
+            table = tab;
+            count = live;
+            return tab;
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                table = new AtomicReferenceArray<>(16);
+                count = 0;
+                while (queue.poll() != null) {
+                    // old references point to entries that are gone
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final Strength keyStrength;
+    private final Strength valueStrength;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    public ConcurrentReferenceMap() {
+        this(Strength.WEAK, Strength.STRONG);
+    }
+
+    public ConcurrentReferenceMap(Strength keyStrength, Strength valueStrength) {
+        this(keyStrength, valueStrength, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentReferenceMap(Strength keyStrength, Strength valueStrength, int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive");
+        }
+        this.keyStrength = Objects.requireNonNull(keyStrength, "keyStrength");
+        this.valueStrength = Objects.requireNonNull(valueStrength, "valueStrength");
+        int count = 1;
+        while (count < concurrencyLevel && count < (1 << 16)) {
+            count <<= 1;
+        }
+        // Segment from the HIGH hash bits, bucket from the LOW bits → independent choices
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.segmentMask = count - 1;
+        this.segments = (Segment[]) new ConcurrentReferenceMap<?, ?>.Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).put(key, hash, value, false, false, null);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).put(key, hash, value, true, false, null);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).put(key, hash, value, false, true, null);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue, "oldValue");
+        Objects.requireNonNull(newValue, "newValue");
+        int hash = ConcurrentLRUCache.spread(key);
+        V old = segmentFor(hash).put(key, hash, newValue, false, true, oldValue);
+        return old != null && oldValue.equals(old);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).remove(key, hash, null);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (value == null) {
+            return false;
+        }
+        int hash = ConcurrentLRUCache.spread(key);
+        return segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    /**
+     * Entry count, including entries collected by the GC but not yet cleaned up.
+     */
+    @Override
+    public int size() {
+        long total = 0;
+        for (Segment s : segments) {
+            total += s.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    /**
+     * Removes every collected entry now instead of a few at a time.
+     */
+    public void cleanUp() {
+        for (Segment s : segments) {
+            s.lock.lock();
+            try {
+                s.drain(Integer.MAX_VALUE);
+            } finally {
+                s.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentReferenceMap.this.size();
+            }
+        };
+    }
+
+    // Weakly consistent; entries are strong snapshots, so a key cannot vanish mid-iteration step
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int segment = -1;
+        private AtomicReferenceArray<Entry<K, V>> table;
+        private int bucket;
+        private Entry<K, V> entry;
+        private Map.Entry<K, V> next;
+        private Map.Entry<K, V> last;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null) {
+                if (entry != null) {
+                    entry = entry.next;
+                }
+                while (entry == null) {
+                    if (table != null && ++bucket < table.length()) {
+                        entry = table.get(bucket);
+                    } else if (++segment < segments.length) {
+                        table = segments[segment].table;
+                        bucket = -1;
+                    } else {
+                        return;
+                    }
+                }
+                K key = deref(entry.key);
+                V value = deref(entry.value);
+                if (key != null && value != null) {
+                    next = new SimpleImmutableEntry<>(key, value);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentReferenceMap.this.remove(last.getKey());
+            last = null;
+        }
+    }
+
+    // Demo value, like the Image of WeakHashMapDemo
+    static final class Picture {
+        private final String name;
+
+        Picture(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // 🔸 Same scenario as WeakHashMapDemo, but safe to share between threads
+        ConcurrentReferenceMap<String, Picture> imageCache = new ConcurrentReferenceMap<>();
+        String key1 = new String("img1");
+        String key2 = new String("img2");
+        imageCache.put(key1, new Picture("Image 1"));
+        imageCache.put(key2, new Picture("Image 2"));
+        System.out.println("Before GC: " + imageCache);
+
+        key1 = null; // only the cache refers to "img1" now
+        System.gc();
+        Thread.sleep(200);
+        imageCache.cleanUp();
+        System.out.println("After GC: " + imageCache + " (img2 still strongly referenced: " + key2 + ")");
+
+        // 🔸 Metadata cache keyed by short-lived objects, used by many threads
+        ConcurrentReferenceMap<Object, String> metadata = new ConcurrentReferenceMap<>(Strength.WEAK, Strength.STRONG);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    Object owner = new Object(); // dies right after this iteration
+                    metadata.put(owner, "meta-" + i);
+                    metadata.get(owner);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.println("1.6M entries written; still in map (not yet collected/drained): " + metadata.size());
+        System.gc();
+        Thread.sleep(200);
+        metadata.cleanUp();
+        System.out.println("After GC + cleanUp(): " + metadata.size());
+    }
+}
+
+/*
+ * 🚀 Concurrent Weak/Soft Reference Map 🚀
+ *
+ * 🔹 WeakHashMap problems:
+ * - Not thread-safe → Collections.synchronizedMap → one lock for all threads.
+ * - Stale entries are expunged only when the map itself is called, all at once.
+ *
+ * 🔹 This map:
+ * - Segments (lock striping) → writers on different segments run in parallel.
+ * - Reads take no lock: chains are immutable (final next), values are volatile.
+ * - Every key/value Reference is registered with the segment's ReferenceQueue.
+ * - GC clears a reference → it appears in the queue → the map removes that entry.
+ *
+ * 🔹 Amortized cleanup:
+ * - Each write removes at most 16 collected entries.
+ * - ~1 read in 64 (ThreadLocalRandom, no shared counter) does the same, only if the lock is free (tryLock).
+ * - cleanUp() → everything at once.
+ *
+ * 🔹 Strength:
+ * - WEAK → gone at the next GC once unreachable (metadata per object / class loader).
+ * - SOFT → kept until memory is tight (memory-sensitive caches).
+ * - STRONG → normal reference.
+ */
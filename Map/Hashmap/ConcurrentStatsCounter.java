@@ -0,0 +1,118 @@
+package Map.Hashmap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe {@link StatsCounter} built on {@link LongAdder}: every thread mostly
+ * updates its own cell, so counting does not become a contention point.
+ * Optionally also feeds a {@link HotnessHistogram}.
+ */
+public class ConcurrentStatsCounter implements StatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final HotnessHistogram hotness;
+
+    public ConcurrentStatsCounter() {
+        this.hotness = null;
+    }
+
+    // 🔹 expectedKeys sizes the frequency sketch behind the hotness histogram
+    public ConcurrentStatsCounter(int expectedKeys) {
+        this.hotness = new HotnessHistogram(expectedKeys);
+    }
+
+    @Override
+    public void recordHit(Object key) {
+        hitCount.increment();
+        if (hotness != null) {
+            hotness.record(key);
+        }
+    }
+
+    @Override
+    public void recordMiss(Object key) {
+        missCount.increment();
+        if (hotness != null) {
+            hotness.record(key);
+        }
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordEviction(int weight) {
+        evictionCount.increment();
+        evictionWeight.add(weight);
+    }
+
+    // 🔹 Each counter is summed separately → a "nearly" consistent view, never blocks writers
+    @Override
+    public CacheStats snapshot() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(),
+                loadFailureCount.sum(), totalLoadTime.sum(), evictionCount.sum(),
+                evictionWeight.sum(), hotness == null ? new long[0] : hotness.snapshot());
+    }
+
+    public static void main(String[] args) {
+        StatsCounter stats = new ConcurrentStatsCounter(1_000);
+        ConcurrentLRUCache<Integer, String> cache =
+                new ConcurrentLRUCache<>(100, 4, EvictionPolicy.LRU, stats);
+
+        // Skewed workload: keys 0..9 are hot, the rest are read once
+        for (int i = 0; i < 10_000; i++) {
+            int key = i % 2 == 0 ? i % 10 : i;
+            if (cache.get(key) == null) {
+                cache.put(key, "v" + key);
+            }
+        }
+        System.out.println(cache.stats());
+
+        // Loading cache: load time is measured too
+        LoadingLRUCache<Integer, String> loading = new LoadingLRUCache<>(10, new ConcurrentStatsCounter());
+        for (int i = 0; i < 20; i++) {
+            loading.get(i % 5, id -> "User-" + id);
+        }
+        System.out.println(loading.stats());
+
+        // Weighted cache: eviction weight = bytes evicted
+        WeightedLRUCache<String, byte[]> images =
+                new WeightedLRUCache<>(1_000, (k, v) -> v.length, new ConcurrentStatsCounter());
+        for (int i = 0; i < 5; i++) {
+            images.put("img" + i, new byte[300]);
+        }
+        System.out.println(images.stats());
+    }
+}
+
+/*
+ * 🚀 Cache Statistics 🚀
+ *
+ * 🔹 Why LongAdder instead of AtomicLong?
+ * - AtomicLong: all threads CAS the SAME variable → contention on every get().
+ * - LongAdder: spreads updates over several cells, sum() adds them up.
+ * - Perfect for counters that are written often and read rarely.
+ *
+ * 🔹 What is measured?
+ * - hits / misses → hit rate (main number for sizing a cache)
+ * - load success / failure + total load time → average load penalty
+ * - evictions + eviction weight → is the cache too small?
+ * - hotness histogram (optional) → how skewed are the accesses?
+ *
+ * ✅ StatsCounter.disabled() is the default → no counting cost when not needed.
+ */
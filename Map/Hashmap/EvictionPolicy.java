@@ -0,0 +1,42 @@
+package Map.Hashmap;
+
+import java.util.Map;
+
+/**
+ * Eviction policies that a {@link ConcurrentLRUCache} segment can use.
+ */
+public enum EvictionPolicy {
+
+    // 🔹 Least recently used entry leaves first (LRUCache)
+    LRU {
+        @Override
+        <K, V> Map<K, V> newSegment(int capacity, StatsCounter stats) {
+            return new LRUCache<K, V>(capacity) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    boolean evict = super.removeEldestEntry(eldest);
+                    if (evict) {
+                        stats.recordEviction(1);
+                    }
+                    return evict;
+                }
+            };
+        }
+    },
+
+    // 🔹 Frequency-based admission in front of a segmented LRU (scan resistant)
+    WINDOW_TINY_LFU {
+        @Override
+        <K, V> Map<K, V> newSegment(int capacity, StatsCounter stats) {
+            return new WindowTinyLfuCache<K, V>(Math.max(1, capacity)) {
+                @Override
+                protected void onEviction(K key, V value) {
+                    stats.recordEviction(1);
+                }
+            };
+        }
+    };
+
+    // 🔹 stats receives one recordEviction(1) per entry the segment drops
+    abstract <K, V> Map<K, V> newSegment(int capacity, StatsCounter stats);
+}
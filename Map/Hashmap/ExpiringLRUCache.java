@@ -0,0 +1,247 @@
+package Map.Hashmap;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LRUCache} with time-to-live (expire after write) and time-to-idle
+ * (expire after access). Expiration times are tracked in a {@link TimerWheel};
+ * expired entries are dropped lazily when read and reclaimed a few at a time
+ * on writes or by an optional background sweeper.
+ */
+public class ExpiringLRUCache<K, V> implements AutoCloseable {
+
+    // Expired entries reclaimed per write, so a put never pays for a big cleanup
+    private static final int WRITE_CLEANUP_BUDGET = 16;
+
+    // "No expiration" still needs a wheel slot: far in the future
+    private static final long NEVER = Long.MAX_VALUE / 2;
+
+    // 🔹 Wheel node that also remembers the last write (needed for TTL after a read)
+    static final class Entry<K, V> extends TimerWheel.Node<K, V> {
+        long writeTime;
+
+        Entry(K key, V value, long writeTime) {
+            super(key, value);
+            this.writeTime = writeTime;
+        }
+    }
+
+    private final LRUCache<K, Entry<K, V>> data;
+    private final TimerWheel<K, V> timerWheel;
+    private final long timeToLiveNanos;
+    private final long timeToIdleNanos;
+    private final LongSupplier ticker;
+    private ScheduledExecutorService sweeper; // own sweeper thread, if started; guarded by this
+
+    /**
+     * @param timeToLive expire this long after the last write (0 = never)
+     * @param timeToIdle expire this long after the last read or write (0 = never)
+     */
+    public ExpiringLRUCache(int capacity, long timeToLive, long timeToIdle, TimeUnit unit) {
+        this(capacity, timeToLive, timeToIdle, unit, System::nanoTime);
+    }
+
+    ExpiringLRUCache(int capacity, long timeToLive, long timeToIdle, TimeUnit unit, LongSupplier ticker) {
+        if (timeToLive < 0 || timeToIdle < 0) {
+            throw new IllegalArgumentException("durations must not be negative");
+        }
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.timeToIdleNanos = unit.toNanos(timeToIdle);
+        this.ticker = ticker;
+        this.timerWheel = new TimerWheel<>(ticker.getAsLong());
+
+        // 🔹 Size-based eviction still comes from LRUCache; the evicted node leaves the wheel too
+        this.data = new LRUCache<K, Entry<K, V>>(capacity) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<K, V>> eldest) {
+                boolean evict = super.removeEldestEntry(eldest);
+                if (evict) {
+                    timerWheel.deschedule(eldest.getValue());
+                }
+                return evict;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        long now = ticker.getAsLong();
+        // 🔹 Lazy expiration: an expired entry is removed the moment someone reads it
+        if (node.expiresAt - now <= 0L) {
+            data.remove(key);
+            timerWheel.deschedule(node);
+            return null;
+        }
+        if (timeToIdleNanos > 0) {
+            node.expiresAt = expirationTime(node, now);
+            timerWheel.reschedule(node);
+        }
+        return node.value;
+    }
+
+    public synchronized V put(K key, V value) {
+        long now = ticker.getAsLong();
+        cleanUp(now, WRITE_CLEANUP_BUDGET);
+
+        Entry<K, V> node = data.get(key);
+        if (node != null) {
+            V old = node.expiresAt - now <= 0L ? null : node.value;
+            node.value = value;
+            node.writeTime = now;
+            node.expiresAt = expirationTime(node, now);
+            timerWheel.reschedule(node);
+            return old;
+        }
+        node = new Entry<>(key, value, now);
+        node.expiresAt = expirationTime(node, now);
+        timerWheel.schedule(node);
+        data.put(key, node);
+        return null;
+    }
+
+    public synchronized V remove(K key) {
+        Entry<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        timerWheel.deschedule(node);
+        return node.expiresAt - ticker.getAsLong() <= 0L ? null : node.value;
+    }
+
+    // 🔹 May include entries that expired but were not reclaimed yet
+    public synchronized int size() {
+        return data.size();
+    }
+
+    /**
+     * Advances the timer wheel and reclaims at most {@code maxEntries} expired entries.
+     * @return number of entries removed
+     */
+    public synchronized int cleanUp(int maxEntries) {
+        return cleanUp(ticker.getAsLong(), maxEntries);
+    }
+
+    private int cleanUp(long now, int maxEntries) {
+        timerWheel.advance(now);
+        int removed = 0;
+        while (removed < maxEntries) {
+            TimerWheel.Node<K, V> node = timerWheel.pollExpired();
+            if (node == null) {
+                break;
+            }
+            data.remove(node.key);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Starts a daemon thread that calls {@link #cleanUp(int)} every {@code period},
+     * reclaiming at most {@code maxEntriesPerRun} entries each time. The thread belongs to
+     * this cache and runs until {@link #close()} (or {@link #stopSweeper()}).
+     */
+    public synchronized ScheduledFuture<?> startSweeper(long period, TimeUnit unit, int maxEntriesPerRun) {
+        if (sweeper != null) {
+            throw new IllegalStateException("sweeper already running");
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lru-cache-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        return sweeper.scheduleWithFixedDelay(() -> cleanUp(maxEntriesPerRun), period, period, unit);
+    }
+
+    /**
+     * Same, but on a caller-owned executor (e.g. one shared by many caches); cancel the
+     * returned future to stop it.
+     */
+    public ScheduledFuture<?> startSweeper(ScheduledExecutorService executor, long period, TimeUnit unit,
+                                           int maxEntriesPerRun) {
+        return executor.scheduleWithFixedDelay(() -> cleanUp(maxEntriesPerRun), period, period, unit);
+    }
+
+    // 🔹 Shutting the executor down drops the scheduled task → the cache is no longer pinned by it
+    public synchronized void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stopSweeper();
+    }
+
+    // 🔹 Earliest of (last write + TTL) and (last access + TTI)
+    private long expirationTime(Entry<K, V> entry, long now) {
+        long expiresAt = now + NEVER;
+        if (timeToLiveNanos > 0) {
+            expiresAt = entry.writeTime + timeToLiveNanos;
+        }
+        if (timeToIdleNanos > 0) {
+            expiresAt = Math.min(expiresAt, now + timeToIdleNanos);
+        }
+        return expiresAt;
+    }
+
+    public static void main(String[] args) {
+        // A fake clock lets us "wait" minutes instantly
+        AtomicLong clock = new AtomicLong();
+
+        ExpiringLRUCache<String, String> sessions =
+                new ExpiringLRUCache<>(100, 10, 3, TimeUnit.MINUTES, clock::get);
+        sessions.put("alice", "token-1");
+        sessions.put("bob", "token-2");
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        System.out.println("2 min  alice → " + sessions.get("alice")); // read resets idle timer
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        System.out.println("4 min  alice → " + sessions.get("alice")); // still alive (idle 2 min)
+        System.out.println("4 min  bob   → " + sessions.get("bob"));   // idle 4 min > 3 min → null
+
+        for (int i = 0; i < 7; i++) {
+            clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+            sessions.get("alice");
+        }
+        System.out.println("11 min alice → " + sessions.get("alice")); // TTL of 10 min passed → null
+
+        // Background-style cleanup of entries nobody reads again
+        for (int i = 0; i < 50; i++) {
+            sessions.put("user" + i, "t" + i);
+        }
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        System.out.println("Size before sweep: " + sessions.size());
+        System.out.println("Reclaimed: " + sessions.cleanUp(1_000));
+        System.out.println("Size after sweep: " + sessions.size());
+    }
+}
+
+/*
+ * 🚀 Expiration: TTL vs TTI 🚀
+ *
+ * 🔹 Time-To-Live (expire after WRITE):
+ * - Entry dies a fixed time after it was put, no matter how often it is read.
+ *
+ * 🔹 Time-To-Idle (expire after ACCESS):
+ * - Entry dies if nobody touched it for the given time (every get() extends it).
+ *
+ * 🔹 How expired entries are removed:
+ * - Lazily: get() sees an expired entry → removes it and returns null.
+ * - Amortized: every put() reclaims up to 16 expired entries.
+ * - Sweeper: optional background thread reclaiming a bounded number per run
+ * (stopped by close(), or on a shared executor supplied by the caller).
+ *
+ * ✅ Expiration times live in a TimerWheel → O(1) per operation, no full scans.
+ */
@@ -0,0 +1,113 @@
+package Map.Hashmap;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allocates many short-lived resource holders and compares the GC cost of releasing
+ * them with finalize() versus {@link Cleaner}. GC time and count come from the
+ * {@link GarbageCollectorMXBean}s. Run with a fixed heap for stable numbers, e.g.
+ * {@code java -Xmx512m Map.Hashmap.FinalizerVsCleanerBenchmark}.
+ */
+public class FinalizerVsCleanerBenchmark {
+
+    private static final int OBJECTS = 500_000;
+    private static final int PAYLOAD = 4 * 1024;
+
+    private static final LongAdder RELEASED = new LongAdder();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // 🔸 Old style: GC must keep it (and its payload) alive until the finalizer thread has run
+    static final class FinalizedHolder {
+        final byte[] payload = new byte[PAYLOAD];
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected void finalize() {
+            RELEASED.increment();
+        }
+    }
+
+    // 🔹 New style: only the small cleaning action survives; the holder and payload die young
+    static final class CleanedHolder {
+        final byte[] payload = new byte[PAYLOAD];
+
+        CleanedHolder() {
+            CLEANER.register(this, RELEASED::increment); // static method ref → does not capture this
+        }
+    }
+
+    interface Factory {
+        Object create();
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static void run(String name, Factory factory) throws InterruptedException {
+        RELEASED.reset();
+        long gcTime = gcTimeMillis();
+        long gcCount = gcCount();
+        long start = System.nanoTime();
+
+        Object[] window = new Object[1_000]; // a few objects in use at any time
+        for (int i = 0; i < OBJECTS; i++) {
+            window[i % window.length] = factory.create();
+        }
+        window = null;
+        // Wait until every holder has been released (finalized / cleaned)
+        for (int i = 0; i < 200 && RELEASED.sum() < OBJECTS; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        System.out.printf("%-10s released %,d / %,d in %,d ms | GC: %d collections, %,d ms%n",
+                name, RELEASED.sum(), OBJECTS, (System.nanoTime() - start) / 1_000_000,
+                gcCount() - gcCount, gcTimeMillis() - gcTime);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> collectors = ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName).toList();
+        System.out.println("Collectors: " + collectors);
+
+        for (int round = 1; round <= 2; round++) { // round 1 = warm-up
+            System.out.println("Round " + round);
+            run("finalize()", FinalizedHolder::new);
+            run("Cleaner", CleanedHolder::new);
+        }
+    }
+}
+
+/*
+ * 🚀 Why finalize() Hurts the GC 🚀
+ *
+ * 🔹 Finalizable object:
+ * - Registered at allocation (JVM tracks it in a special list).
+ * - GC #1: found unreachable → NOT freed, queued for the finalizer thread (and its
+ * fields, like payload, stay alive too) → often copied to the old generation.
+ * - Finalizer thread runs finalize() (single thread → can fall behind).
+ * - GC #2 (often an old-gen collection): now it is finally freed.
+ *
+ * 🔹 Cleaner:
+ * - Holder is only watched by a PhantomReference → freed in the FIRST young GC.
+ * - Only the tiny cleaning action is kept until the Cleaner thread runs it.
+ *
+ * ✅ Fewer surviving bytes → fewer/shorter GCs. Compare "GC ms" of the two lines.
+ */
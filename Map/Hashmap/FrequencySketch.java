@@ -0,0 +1,128 @@
+package Map.Hashmap;
+
+/**
+ * Count-Min sketch with 4-bit counters that estimates how often a key was seen.
+ * Used by {@link WindowTinyLfuCache} to decide which entry is worth keeping.
+ * All counters are halved after a sample period so old popularity fades away.
+ */
+public class FrequencySketch<E> {
+
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    // 🔹 Each long holds 16 counters of 4 bits; 4 "rows" use 4 counters of one long each
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedSize) {
+        ensureCapacity(expectedSize);
+    }
+
+    // 🔹 Table grows with the cache: about 8 bytes per cached entry
+    public void ensureCapacity(int expectedSize) {
+        int size = tableSizeFor(Math.max(expectedSize, 16));
+        if (table != null && table.length >= size) {
+            return;
+        }
+        table = new long[size];
+        tableMask = size - 1;
+        sampleSize = (int) Math.min(10L * Math.max(expectedSize, 16), Integer.MAX_VALUE);
+        additions = 0;
+    }
+
+    // 🔹 Estimated number of times e was seen (0..15) = minimum of its 4 counters
+    public int frequency(E e) {
+        int hash = spread(e.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < 4; row++) {
+            int index = indexOf(hash, row);
+            int offset = offsetOf(hash, row);
+            int count = (int) ((table[index] >>> offset) & 0xF);
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    // 🔹 Records one more occurrence of e (counters saturate at 15)
+    public void increment(E e) {
+        int hash = spread(e.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            int index = indexOf(hash, row);
+            int offset = offsetOf(hash, row);
+            if (((table[index] >>> offset) & 0xF) != MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    // 🔹 Aging: halve every counter so that "popular yesterday" does not win forever
+    void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += (h >>> 32);
+        return (int) h & tableMask;
+    }
+
+    // Row r owns nibbles 4r..4r+3 of the long; the hash picks one of them
+    private static int offsetOf(int hash, int row) {
+        int nibble = (row << 2) + ((hash >>> (row << 3)) & 3);
+        return nibble << 2;
+    }
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(n - 1) << 1;
+        return Math.max(1, Math.min(size, 1 << 30));
+    }
+
+    public static void main(String[] args) {
+        FrequencySketch<String> sketch = new FrequencySketch<>(100);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("Java");
+        }
+        sketch.increment("Python");
+
+        System.out.println("Java   ≈ " + sketch.frequency("Java"));   // 5
+        System.out.println("Python ≈ " + sketch.frequency("Python")); // 1
+        System.out.println("C++    ≈ " + sketch.frequency("C++"));    // 0 (maybe more on a collision)
+    }
+}
+
+/*
+ * 🚀 Count-Min Sketch 🚀
+ *
+ * 🔹 What?
+ * - A small table of counters that answers "how many times did I see X?" approximately.
+ * - Each key updates 4 counters (one per row, chosen by 4 different hashes).
+ * - Estimate = MIN of those 4 counters → collisions can only OVER-estimate, never under.
+ *
+ * 🔹 Why 4 bits?
+ * - For cache admission we only need "hot vs cold" → counting to 15 is enough.
+ * - 16 counters fit in one long → very little memory.
+ *
+ * 🔹 Aging (reset):
+ * - After sampleSize increments every counter is halved.
+ * - Recent popularity matters more than very old popularity.
+ */
@@ -55,6 +55,7 @@ class Phone {
      * Q: What is the finalize() method?
      * Ans: finalize() is called by the garbage collector before object destruction.
      *      It is now deprecated in Java 9+.
+     *      Replacement: java.lang.ref.Cleaner (see ResourceRegistry, FinalizerVsCleanerBenchmark).
      */
     @Override
     protected void finalize() throws Throwable {
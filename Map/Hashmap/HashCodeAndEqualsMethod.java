@@ -29,7 +29,7 @@ public class HashCodeAndEqualsMethod {
     }
 }
 
-class BatchStudent {
+class BatchStudent implements Hasher {
     private String name;
     private int id;
 
@@ -61,6 +61,13 @@ class BatchStudent {
         return Objects.hash(name, id);
     }
 
+    // Used by SeededHashMap instead of hashCode(): same fields, but hashed with a secret seed
+    @Override
+    public void hashInto(SipHasher sink) {
+        sink.putString(name);
+        sink.putInt(id);
+    }
+
     // Override toString() for better object representation
     @Override
     public String toString() {
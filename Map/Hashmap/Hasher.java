@@ -0,0 +1,12 @@
+package Map.Hashmap;
+
+/**
+ * Implemented by key types that want flooding-resistant hashing in {@link SeededHashMap}.
+ * Instead of returning a fixed {@code hashCode()}, the key feeds its fields into a
+ * keyed hash function whose secret seed differs for every map.
+ */
+public interface Hasher {
+
+    // 🔹 Feed the same fields that equals() compares, in a fixed order
+    void hashInto(SipHasher sink);
+}
@@ -0,0 +1,57 @@
+package Map.Hashmap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of how "hot" accessed keys are. Each access bumps the key in a
+ * {@link FrequencySketch} and counts the access in the bucket of its estimated frequency.
+ * The sketch is split into stripes (one lock each) so threads rarely collide.
+ */
+public class HotnessHistogram {
+
+    // Buckets: [1], [2-3], [4-7], [8-14], [15+] (the sketch saturates at 15)
+    static final int BUCKETS = 5;
+
+    private final FrequencySketch<Object>[] stripes;
+    private final int stripeMask;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    @SuppressWarnings("unchecked")
+    public HotnessHistogram(int expectedKeys) {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.stripes = (FrequencySketch<Object>[]) new FrequencySketch<?>[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new FrequencySketch<>(Math.max(16, expectedKeys / count));
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(Object key) {
+        FrequencySketch<Object> sketch = stripes[FrequencySketch.spread(key.hashCode()) & stripeMask];
+        int frequency;
+        synchronized (sketch) {
+            sketch.increment(key);
+            frequency = sketch.frequency(key);
+        }
+        buckets[bucketOf(frequency)].increment();
+    }
+
+    static int bucketOf(int frequency) {
+        if (frequency >= 15) {
+            return BUCKETS - 1;
+        }
+        // 1 → 0, 2-3 → 1, 4-7 → 2, 8-14 → 3
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, frequency));
+    }
+
+    public long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+}
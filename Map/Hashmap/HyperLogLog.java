@@ -0,0 +1,112 @@
+package Map.Hashmap;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Estimates how many DISTINCT elements were added, using a few KB no matter how many
+ * elements there are. 2^p one-byte registers remember the longest run of leading zero
+ * bits seen in the hashes routed to them; the harmonic mean of the registers gives the
+ * count. Standard error ≈ 1.04 / sqrt(2^p) (p = 12 → about 1.6%). Not thread-safe.
+ */
+public class HyperLogLog {
+
+    private final int p;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(12);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.p = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    // 🔹 hashCode() is only 32 bits and often poorly mixed → spread it over 64 bits (murmur3 fmix64)
+    static long hash(Object element) {
+        long h = Objects.hashCode(element);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    public void add(Object element) {
+        addHash(hash(element));
+    }
+
+    public void addHash(long hash) {
+        int register = (int) (hash >>> (64 - p));                  // first p bits pick a register
+        int rank = Long.numberOfLeadingZeros(hash << p | (1L << (p - 1))) + 1; // zeros in the rest, +1
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // Small counts: many empty registers → linear counting is more accurate
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // 🔹 Sketches of two data sets combine into the sketch of their union
+    public void merge(HyperLogLog other) {
+        if (other.p != p) {
+            throw new IllegalArgumentException("precision differs: " + p + " vs " + other.p);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    public int sizeInBytes() {
+        return registers.length;
+    }
+
+    public static void main(String[] args) {
+        HyperLogLog hll = new HyperLogLog();
+        Set<Integer> exact = new HashSet<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            int value = (i * 31) % 250_000; // 250,000 distinct values, each seen 4 times
+            hll.add(value);
+            exact.add(value);
+        }
+        System.out.println("Exact distinct: " + exact.size() + ", HyperLogLog: " + hll.estimate()
+                + " (" + hll.sizeInBytes() + " bytes of registers)");
+    }
+}
+
+/*
+ * 🚀 HyperLogLog 🚀
+ *
+ * 🔹 Idea:
+ * - In random bits, "k leading zeros" happens with probability 1/2^(k+1).
+ * - Seeing a hash with 20 leading zeros → about 2^20 distinct values were hashed.
+ * - One observation is noisy → split hashes into m = 2^p buckets (registers), average them.
+ *
+ * 🔹 Properties:
+ * - Duplicates do not change anything (same hash → same register, same rank).
+ * - Memory: m bytes (4 KB for p = 12), independent of the data size.
+ * - Mergeable: max of registers = sketch of the union.
+ *
+ * ✅ Used here to presize a map for a stream before inserting (see BulkLoad).
+ */
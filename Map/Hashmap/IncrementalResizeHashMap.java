@@ -0,0 +1,394 @@
+package Map.Hashmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Chained hash map that never rehashes everything at once (like Redis' dict). When the
+ * table is full, a twice-as-large table is allocated and the old one is kept; each
+ * following insert or remove then moves only {@value #MIGRATE_STEP} old buckets. While
+ * both tables exist, a key lives in the old table if its bucket has not been moved yet,
+ * otherwise in the new one, so lookups check that old bucket first.
+ * Null keys and values are allowed. Not thread-safe.
+ */
+public class IncrementalResizeHashMap<K, V> extends AbstractMap<K, V> {
+
+    static final int MIGRATE_STEP = 8;
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    static final class Node<K, V> implements Map.Entry<K, V> {
+        final int hash;
+        final K key;
+        V value;
+        Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private Node<K, V>[] table;
+    private Node<K, V>[] oldTable;  // null when no resize is in progress
+    private int migrated;           // old buckets [0, migrated) are already moved
+    private int size;
+    private int modCount;
+
+    public IncrementalResizeHashMap() {
+        this(16);
+    }
+
+    public IncrementalResizeHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        this.table = newTable(capacityFor(expectedSize));
+    }
+
+    // Power of two that holds expectedSize entries below 3/4 full, at most MAXIMUM_CAPACITY
+    static int capacityFor(int expectedSize) {
+        long needed = Math.max(16, (long) expectedSize * 4 / 3 + 1);
+        if (needed > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(int capacity) {
+        return (Node<K, V>[]) new Node<?, ?>[capacity];
+    }
+
+    static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    // 🔹 Not-yet-moved old bucket holding this hash, or -1 if the key can only be in the new table
+    private int oldBucket(int hash) {
+        if (oldTable == null) {
+            return -1;
+        }
+        int index = hash & (oldTable.length - 1);
+        return index >= migrated ? index : -1;
+    }
+
+    private Node<K, V> findNode(Object key) {
+        int hash = hash(key);
+        int old = oldBucket(hash);
+        Node<K, V> n = old >= 0 ? oldTable[old] : table[hash & (table.length - 1)];
+        for (; n != null; n = n.next) {
+            if (n.hash == hash && Objects.equals(n.key, key)) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> n = findNode(key);
+        return n == null ? null : n.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> n = findNode(key);
+        if (n != null) {
+            return n.setValue(value); // update: no structural change, no migration work
+        }
+        migrateStep();
+        int hash = hash(key);
+        int old = oldBucket(hash);
+        if (old >= 0) {
+            oldTable[old] = new Node<>(hash, key, value, oldTable[old]); // moved with its bucket later
+        } else {
+            int index = hash & (table.length - 1);
+            table[index] = new Node<>(hash, key, value, table[index]);
+        }
+        size++;
+        modCount++;
+        if (size > table.length / 4 * 3 && table.length < MAXIMUM_CAPACITY) {
+            startResize();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> removed = removeNode(key);
+        if (removed == null) {
+            return null;
+        }
+        migrateStep();
+        return removed.value;
+    }
+
+    private Node<K, V> removeNode(Object key) {
+        int hash = hash(key);
+        int old = oldBucket(hash);
+        Node<K, V>[] tab = old >= 0 ? oldTable : table;
+        int index = old >= 0 ? old : hash & (table.length - 1);
+        Node<K, V> prev = null;
+        for (Node<K, V> n = tab[index]; n != null; prev = n, n = n.next) {
+            if (n.hash == hash && Objects.equals(n.key, key)) {
+                if (prev == null) {
+                    tab[index] = n.next;
+                } else {
+                    prev.next = n.next;
+                }
+                size--;
+                modCount++;
+                return n;
+            }
+        }
+        return null;
+    }
+
+    private void startResize() {
+        if (oldTable != null) {
+            finishMigration(); // cannot happen with step ≥ 2, but never keep three tables
+        }
+        oldTable = table;
+        migrated = 0;
+        table = newTable(oldTable.length * 2); // 🔸 only allocation here, no entries are moved
+    }
+
+    // 🔹 Bounded work per operation: move MIGRATE_STEP old buckets into the new table
+    private void migrateStep() {
+        if (oldTable == null) {
+            return;
+        }
+        int end = Math.min(migrated + MIGRATE_STEP, oldTable.length);
+        for (int i = migrated; i < end; i++) {
+            moveBucket(i);
+        }
+        migrated = end;
+        if (migrated == oldTable.length) {
+            oldTable = null; // old table is garbage now
+        }
+    }
+
+    private void moveBucket(int i) {
+        int mask = table.length - 1;
+        for (Node<K, V> n = oldTable[i]; n != null; ) {
+            Node<K, V> next = n.next;
+            int index = n.hash & mask; // i or i + oldTable.length
+            n.next = table[index];
+            table[index] = n;
+            n = next;
+        }
+        oldTable[i] = null;
+    }
+
+    private void finishMigration() {
+        while (oldTable != null) {
+            migrateStep();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0 || oldTable != null) {
+            table = newTable(table.length);
+            oldTable = null;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // 🔹 Visits the not-yet-moved old buckets first, then the whole new table
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Node<K, V>[] oldTab = oldTable;
+        private final Node<K, V>[] newTab = table;
+        private int bucket = oldTable == null ? -1 : migrated - 1;
+        private boolean inOld = oldTable != null;
+        private Node<K, V> next;
+        private Node<K, V> last;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advanceBucket();
+        }
+
+        private void advanceBucket() {
+            while (next == null) {
+                Node<K, V>[] tab = inOld ? oldTab : newTab;
+                if (++bucket < tab.length) {
+                    next = tab[bucket];
+                } else if (inOld) {
+                    inOld = false;
+                    bucket = -1;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = next.next;
+            advanceBucket();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeNode(last.key); // no migration step → buckets stay where the iterator expects them
+            last = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, Integer> map = new IncrementalResizeHashMap<>(4);
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+        map.remove("key3");
+        System.out.println("Size: " + map.size() + ", key7 → " + map.get("key7") + ", key3 → " + map.get("key3"));
+
+        // 🔸 Latency of EVERY put while growing from empty to 4M entries
+        // (run with a fixed heap, e.g. -Xms3g -Xmx3g, so that GC pauses do not hide the resizes)
+        int n = 4_000_000;
+        for (int round = 0; round < 2; round++) { // round 0 = warm-up
+            long[] plain = putLatencies(new HashMap<>(), n);
+            long[] incremental = putLatencies(new IncrementalResizeHashMap<>(), n);
+            if (round == 1) {
+                print("HashMap", plain);
+                print("IncrementalResizeHashMap", incremental);
+            }
+        }
+    }
+
+    private static long[] putLatencies(Map<Integer, Integer> map, int n) {
+        long[] latencies = new long[n];
+        for (int i = 0; i < n; i++) {
+            Integer key = i;
+            long start = System.nanoTime();
+            map.put(key, key);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static void print(String name, long[] latencies) {
+        Arrays.sort(latencies);
+        int slow = latencies.length - Math.abs(Arrays.binarySearch(latencies, 1_000_000L) + 1);
+        System.out.printf("%-26s p50 %,5d ns | p99.9 %,7d ns | p99.999 %,12d ns | max %,12d ns | puts > 1 ms: %d%n",
+                name, latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.999)],
+                latencies[(int) (latencies.length * 0.99999)], latencies[latencies.length - 1], slow);
+    }
+}
+
+/*
+ * 🚀 Incremental Resizing 🚀
+ *
+ * 🔹 HashMap resize:
+ * - size > 0.75 × capacity → new table (2×), then ALL entries are moved in that one put().
+ * - 4M entries → one put takes tens/hundreds of ms → latency spike (p99.9 / max).
+ *
+ * 🔹 Incremental (Redis dict style):
+ * - Full → allocate new table, keep old one, remember "migrated" position.
+ * - Every insert/remove moves the next 8 old buckets (bounded work).
+ * - Old table (n buckets) is empty after n / 8 operations → long before the next resize.
+ *
+ * 🔹 While resizing:
+ * - Old bucket index < migrated → key is in the new table.
+ * - Otherwise → key is still in the old bucket (new keys are added there too, and move with it).
+ * - Every key is in exactly ONE place → get = one bucket lookup.
+ *
+ * 🔹 Remaining cost:
+ * - Allocating (zeroing) the bigger array still happens in one put → much smaller than moving entries.
+ *
+ * ✅ Same total work as HashMap, spread evenly → flat tail latency.
+ */
@@ -0,0 +1,261 @@
+package Map.Hashmap;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code int} to {@code int}, meant for counters.
+ * {@link #addTo(int, int)} updates a count in place, so counting never boxes
+ * and never allocates (unlike {@code map.merge(key, 1, Integer::sum)}).
+ * Key 0 marks an empty slot, so the real key 0 is stored in a separate field.
+ * Not thread-safe.
+ */
+public class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;          // entries in the arrays (without the zero key)
+    private int resizeThreshold;
+
+    // 🔹 Key 0 is the "empty" marker inside keys[], so it lives here
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        allocate(IntObjectHashMap.capacityFor(expectedSize, LOAD_FACTOR));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        for (int i = IntObjectHashMap.hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return defaultValue;
+    }
+
+    // 🔹 Missing keys read as 0, which is what a counter wants
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        for (int i = IntObjectHashMap.hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key} (missing = 0) and returns the new value.
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = IntObjectHashMap.hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] += delta; // updated in place
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+
+    public int increment(int key) {
+        return addTo(key, 1);
+    }
+
+    // Returns the previous value, or 0 if the key was missing
+    public int put(int key, int value) {
+        if (key == 0) {
+            int old = hasZeroKey ? zeroValue : 0;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int i = IntObjectHashMap.hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                int old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return 0;
+    }
+
+    // Same as IntObjectHashMap.ensureCapacity, at the fixed 1/2 load factor
+    public void ensureCapacity(int expectedSize) {
+        int capacity = IntObjectHashMap.capacityFor(expectedSize, LOAD_FACTOR);
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    public void putAll(int[] keys, int[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    // Returns the removed value, or 0 if the key was missing
+    public int remove(int key) {
+        if (key == 0) {
+            int old = hasZeroKey ? zeroValue : 0;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return old;
+        }
+        for (int i = IntObjectHashMap.hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int old = values[i];
+                deleteSlot(i);
+                return old;
+            }
+        }
+        return 0;
+    }
+
+    // Backward-shift deletion (see IntObjectHashMap)
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            int home = IntObjectHashMap.hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = IntObjectHashMap.hash(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        // Count how many names have each length
+        String[] names = { "Simran", "Saurabh", "Ritika", "Roop", "Sandeep", "Rohit" };
+        IntIntHashMap lengthCount = new IntIntHashMap();
+        for (String name : names) {
+            lengthCount.increment(name.length());
+        }
+        System.out.println("Names per length: " + lengthCount);
+        System.out.println("Length 6 → " + lengthCount.get(6) + ", length 10 → " + lengthCount.getOrDefault(10, -1));
+    }
+}
+
+/*
+ * 🚀 Counting Without Boxing 🚀
+ *
+ * 🔹 map.merge(key, 1, Integer::sum) on a Map<Integer, Integer>:
+ * - boxes the key, boxes 1, creates a NEW Integer for every sum (> 127).
+ *
+ * 🔹 IntIntHashMap.addTo(key, 1):
+ * - finds the slot and does values[i] += 1 → zero allocation.
+ *
+ * 🔹 Empty marker:
+ * - keys[i] == 0 means "empty", so the real key 0 is kept in hasZeroKey/zeroValue.
+ */
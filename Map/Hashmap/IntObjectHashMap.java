@@ -0,0 +1,325 @@
+package Map.Hashmap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Hash map from primitive {@code int} keys to objects, an alternative to
+ * {@code HashMap<Integer, V>}. Keys and values sit in two parallel arrays
+ * (open addressing, linear probing), so get/put/remove never box the key and
+ * never allocate a node. Null values are not allowed (null means "empty slot").
+ * Not thread-safe.
+ */
+public class IntObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    private final float loadFactor;
+
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0 || loadFactor <= 0f || loadFactor >= 1f) {
+            throw new IllegalArgumentException("expectedSize >= 0 and 0 < loadFactor < 1 required");
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    // 🔹 Smallest power of two that holds expectedSize entries below the load factor
+    static int capacityFor(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        if (needed > (1 << 30)) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Math.max(DEFAULT_CAPACITY / 4, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * loadFactor);
+    }
+
+    // 🔹 Mix the bits so that keys 1, 2, 3 ... do not land in one cluster
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "null values are not supported");
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Grows the arrays once so that {@code expectedSize} entries fit without further rehashing.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize, loadFactor);
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    // 🔹 Bulk load: one presize for all entries, then plain puts (no resize in between)
+    public void putAll(int[] keys, V[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        return existing != null ? existing : put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                deleteSlot(i);
+                return old;
+            }
+        }
+        return null;
+    }
+
+    // 🔹 Same semantics as Map.remove(key, value): only removes if the value matches
+    public boolean remove(int key, Object value) {
+        V current = get(key);
+        if (current != null && current.equals(value)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    // Backward-shift deletion: later entries of the probe chain fill the hole (no tombstones)
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = null;
+        size--;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public boolean containsValue(Object value) {
+        for (Object v : values) {
+            if (v != null && v.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    // 🔹 Allocation-free iteration: one reusable cursor instead of Map.Entry objects
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public final class Cursor {
+        private int index = -1;
+
+        // Moves to the next entry; false when there are no more entries
+        public boolean advance() {
+            while (++index < values.length) {
+                if (values[index] != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public int key() {
+            check();
+            return keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            check();
+            return (V) values[index];
+        }
+
+        private void check() {
+            if (index < 0 || index >= values.length || values[index] == null) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        // Same operations as HashMapDemo, but without boxing the keys
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(1, "Shreya");
+        map.put(2, "Neha");
+        map.put(3, "Akshit");
+        System.out.println("IntObjectHashMap: " + map);
+
+        System.out.println("Value for key 3: " + map.get(3));
+        System.out.println("Value for key 6: " + map.get(6)); // null
+        System.out.println("Contains key 2? " + map.containsKey(2));
+        System.out.println("Contains value 'Shreya'? " + map.containsValue("Shreya"));
+
+        System.out.println("\nIterating with a cursor:");
+        IntObjectHashMap<String>.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            System.out.println(cursor.key() + " -> " + cursor.value());
+        }
+
+        System.out.println("REMOVED ? :" + map.remove(31, "Nitin"));
+        System.out.println("REMOVED ? :" + map.remove(2, "Neha"));
+
+        // 🔸 1 million entries: presized, no resizing and no boxing
+        int n = 1_000_000;
+        IntObjectHashMap<String> big = new IntObjectHashMap<>(n);
+        for (int i = 0; i < n; i++) {
+            big.put(i, "v");
+        }
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            if (big.get(i) != null) {
+                found++;
+            }
+        }
+        System.out.printf("%d lookups in %d ms%n", found, (System.nanoTime() - start) / 1_000_000);
+    }
+}
+
+/*
+ * 🚀 Primitive Map vs HashMap<Integer, V> 🚀
+ *
+ * 🔹 HashMap<Integer, String> per entry:
+ * - Node object (~32 bytes: hash, key, value, next + header)
+ * - Integer object (~16 bytes) for keys outside the -128..127 cache
+ * - Slot in the table array
+ *
+ * 🔹 IntObjectHashMap per entry:
+ * - int in keys[] (4 bytes) + reference in values[] (4-8 bytes), at ~50% fill
+ * → roughly 16-24 bytes, no extra objects at all.
+ *
+ * 🔹 Open Addressing (Linear Probing):
+ * - Collision → try the NEXT slot (i + 1) until an empty one is found.
+ * - Neighbouring slots are in the same cache line → fast lookups.
+ * - remove() uses "backward shift": following entries move back into the hole,
+ * so no tombstones (deleted markers) are needed.
+ */
@@ -0,0 +1,366 @@
+package Map.Hashmap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loading cache on top of {@link ConcurrentLRUCache}: a miss computes the value with
+ * a loader, and concurrent misses on the same key share ONE in-flight computation.
+ * Entries older than refreshAfterWrite are reloaded in the background while the old
+ * value is still served; entries older than expireAfterWrite are treated as misses.
+ */
+public class LoadingLRUCache<K, V> {
+
+    // 🔹 Cached value + the time it was loaded
+    private static final class Loaded<V> {
+        final V value;
+        final long loadedAt;
+
+        Loaded(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final ConcurrentLRUCache<K, Loaded<V>> cache;
+    // 🔹 One future per key that is being loaded right now (misses and refreshes)
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final Executor executor;
+    private final StatsCounter stats;
+
+    public LoadingLRUCache(int capacity) {
+        this(capacity, StatsCounter.disabled());
+    }
+
+    public LoadingLRUCache(int capacity, StatsCounter stats) {
+        this(capacity, 0, 0, TimeUnit.NANOSECONDS, ForkJoinPool.commonPool(), stats);
+    }
+
+    /**
+     * @param refreshAfterWrite reload in the background after this age (0 = never)
+     * @param expireAfterWrite  treat as missing after this age (0 = never)
+     */
+    public LoadingLRUCache(int capacity, long refreshAfterWrite, long expireAfterWrite,
+            TimeUnit unit, Executor executor) {
+        this(capacity, refreshAfterWrite, expireAfterWrite, unit, executor, StatsCounter.disabled());
+    }
+
+    public LoadingLRUCache(int capacity, long refreshAfterWrite, long expireAfterWrite,
+            TimeUnit unit, Executor executor, StatsCounter stats) {
+        if (refreshAfterWrite < 0 || expireAfterWrite < 0) {
+            throw new IllegalArgumentException("durations must not be negative");
+        }
+        // Evictions are counted by the segments; hits/misses/loads are counted here
+        this.cache = new ConcurrentLRUCache<>(capacity, Runtime.getRuntime().availableProcessors() * 4,
+                EvictionPolicy.LRU, stats);
+        this.stats = stats;
+        this.refreshAfterNanos = unit.toNanos(refreshAfterWrite);
+        this.expireAfterNanos = unit.toNanos(expireAfterWrite);
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the cached value, or loads it. If another thread is already loading
+     * this key, waits for that load instead of calling the loader again.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfFresh(key, loader);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> ours = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, ours);
+        if (existing != null) {
+            return join(existing); // someone else is loading → just wait for it
+        }
+        // Another thread may have finished loading between our miss and putIfAbsent
+        Loaded<V> loaded = cache.getQuietly(key);
+        if (loaded != null && !isExpired(loaded, System.nanoTime())) {
+            complete(key, ours, loaded.value, null);
+            return loaded.value;
+        }
+        V value;
+        long start = System.nanoTime();
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            stats.recordLoadFailure(System.nanoTime() - start);
+            complete(key, ours, null, e);
+            throw e;
+        }
+        stats.recordLoadSuccess(System.nanoTime() - start);
+        storeLoaded(key, ours, value);
+        complete(key, ours, value, null);
+        return value;
+    }
+
+    /**
+     * Non-blocking variant: returns a completed future on a hit, otherwise the
+     * in-flight future for this key (starting a load on the executor if needed).
+     */
+    public CompletableFuture<V> getAsync(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfFresh(key, loader);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loadAsync(key, loader);
+    }
+
+    /**
+     * Bulk lookup: hits are returned directly, keys already loading are joined,
+     * and all remaining misses are passed to {@code bulkLoader} in ONE call.
+     */
+    public Map<K, V> getAll(Iterable<? extends K> keys,
+            Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            Loaded<V> loaded = cache.getQuietly(key);
+            if (loaded != null && !isExpired(loaded, System.nanoTime())) {
+                stats.recordHit(key);
+                result.put(key, loaded.value);
+                continue;
+            }
+            stats.recordMiss(key);
+            CompletableFuture<V> ours = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, ours);
+            if (existing != null) {
+                waiting.put(key, existing);
+            } else {
+                claimed.put(key, ours);
+            }
+        }
+
+        // 🔹 One bulk call for every key this thread is responsible for
+        if (!claimed.isEmpty()) {
+            Map<? extends K, ? extends V> loaded;
+            long start = System.nanoTime();
+            try {
+                loaded = bulkLoader.apply(Collections.unmodifiableSet(new LinkedHashSet<>(claimed.keySet())));
+            } catch (RuntimeException | Error e) {
+                stats.recordLoadFailure(System.nanoTime() - start);
+                claimed.forEach((k, f) -> complete(k, f, null, e));
+                throw e;
+            }
+            stats.recordLoadSuccess(System.nanoTime() - start);
+            if (loaded == null) {
+                loaded = Collections.emptyMap(); // nothing found, like a map without these keys
+            }
+            try {
+                for (Map.Entry<K, CompletableFuture<V>> e : claimed.entrySet()) {
+                    V value = loaded.get(e.getKey());
+                    storeLoaded(e.getKey(), e.getValue(), value);
+                    complete(e.getKey(), e.getValue(), value, null);
+                    if (value != null) {
+                        result.put(e.getKey(), value);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                // 🔸 Never leave a claimed key in flight: its waiters would block forever
+                claimed.forEach((k, f) -> {
+                    if (!f.isDone()) {
+                        complete(k, f, null, e);
+                    }
+                });
+                throw e;
+            }
+        }
+        for (Map.Entry<K, CompletableFuture<V>> e : waiting.entrySet()) {
+            V value = join(e.getValue());
+            if (value != null) {
+                result.put(e.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    // 🔹 Snapshot of loads currently in progress (key → future), never blocks
+    public Map<K, CompletableFuture<V>> pendingLoads() {
+        return Collections.unmodifiableMap(new HashMap<>(inFlight));
+    }
+
+    public V getIfPresent(K key) {
+        Loaded<V> loaded = cache.getQuietly(key);
+        return loaded == null || isExpired(loaded, System.nanoTime()) ? null : loaded.value;
+    }
+
+    // 🔹 Explicit writes first detach a load in flight: it still completes its waiters, but no longer stores
+    public void put(K key, V value) {
+        inFlight.remove(key);
+        store(key, value);
+    }
+
+    public void invalidate(K key) {
+        inFlight.remove(key);
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    // Hit → value (triggering a refresh-ahead if it is getting old); miss/expired → null
+    private V getIfFresh(K key, Function<? super K, ? extends V> loader) {
+        Loaded<V> loaded = cache.getQuietly(key);
+        long now = System.nanoTime();
+        if (loaded == null || isExpired(loaded, now)) {
+            stats.recordMiss(key);
+            return null;
+        }
+        stats.recordHit(key);
+        if (refreshAfterNanos > 0 && now - loaded.loadedAt >= refreshAfterNanos) {
+            loadAsync(key, loader); // stale-while-revalidate: the old value is returned now
+        }
+        return loaded.value;
+    }
+
+    private CompletableFuture<V> loadAsync(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> ours = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, ours);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    V value = loader.apply(key);
+                    stats.recordLoadSuccess(System.nanoTime() - start);
+                    storeLoaded(key, ours, value);
+                    complete(key, ours, value, null);
+                } catch (Throwable t) {
+                    stats.recordLoadFailure(System.nanoTime() - start);
+                    complete(key, ours, null, t);
+                }
+            });
+        } catch (RuntimeException rejected) {
+            complete(key, ours, null, rejected);
+        }
+        return ours;
+    }
+
+    private void store(K key, V value) {
+        if (value != null) {
+            cache.put(key, new Loaded<>(value, System.nanoTime()));
+        }
+    }
+
+    // Stores a loaded value only while `ours` still owns the key; the check and the put run
+    // under the key's inFlight bin lock, so a put()/invalidate() is either fully before or after
+    private void storeLoaded(K key, CompletableFuture<V> ours, V value) {
+        inFlight.computeIfPresent(key, (k, owner) -> {
+            if (owner == ours) {
+                store(k, value);
+            }
+            return owner;
+        });
+    }
+
+    // Remove from in-flight BEFORE completing, so the next miss starts a fresh load
+    private void complete(K key, CompletableFuture<V> future, V value, Throwable failure) {
+        inFlight.remove(key, future);
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    private boolean isExpired(Loaded<V> loaded, long now) {
+        return expireAfterNanos > 0 && now - loaded.loadedAt >= expireAfterNanos;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadingLRUCache<Integer, String> users = new LoadingLRUCache<>(100);
+        AtomicInteger backendCalls = new AtomicInteger();
+
+        // Slow "database" call
+        Function<Integer, String> loader = id -> {
+            backendCalls.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "User-" + id;
+        };
+
+        // 🔸 10 threads miss the same key at the same time → only ONE backend call
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            new Thread(() -> {
+                users.get(42, loader);
+                done.countDown();
+            }).start();
+        }
+        Thread.sleep(50);
+        System.out.println("Pending loads while waiting: " + users.pendingLoads().keySet());
+        done.await();
+        System.out.println("Value: " + users.get(42, loader) + ", backend calls: " + backendCalls.get());
+
+        // 🔸 Bulk lookup: 42 is a hit, 1..3 are loaded with one bulk call
+        Map<Integer, String> all = users.getAll(List.of(42, 1, 2, 3), ids -> {
+            System.out.println("Bulk loading " + ids);
+            Map<Integer, String> m = new HashMap<>();
+            ids.forEach(id -> m.put(id, "User-" + id));
+            return m;
+        });
+        System.out.println("getAll: " + all);
+    }
+}
+
+/*
+ * 🚀 Loading Cache & Request Coalescing 🚀
+ *
+ * 🔹 Thundering herd:
+ * - 100 threads miss the same key → 100 identical database calls.
+ *
+ * 🔹 Coalescing:
+ * - The first thread puts a CompletableFuture into inFlight (putIfAbsent).
+ * - Everyone else finds that future and waits on it.
+ * - Only keys being loaded are waited on → different keys never block each other.
+ * - put()/invalidate() detach the in-flight future → the older load cannot overwrite them.
+ *
+ * 🔹 Refresh-ahead:
+ * - After refreshAfterWrite, a read still returns the OLD value immediately
+ * and starts ONE background reload.
+ * - After expireAfterWrite, the entry counts as a miss.
+ */
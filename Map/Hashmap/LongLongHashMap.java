@@ -0,0 +1,257 @@
+package Map.Hashmap;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code long} to {@code long}, meant for counters and ID-keyed totals.
+ * {@link #addTo(long, long)} updates a count in place, so counting never boxes
+ * and never allocates (unlike {@code map.merge(key, 1L, Long::sum)}).
+ * Key 0 marks an empty slot, so the real key 0 is stored in a separate field.
+ * Not thread-safe.
+ */
+public class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;          // entries in the arrays (without the zero key)
+    private int resizeThreshold;
+
+    // 🔹 Key 0 is the "empty" marker inside keys[], so it lives here
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(IntObjectHashMap.capacityFor(expectedSize, LOAD_FACTOR));
+    }
+
+    // 🔹 64-bit mix (golden ratio multiply), folded to an int slot hash
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return defaultValue;
+    }
+
+    // 🔹 Missing keys read as 0, which is what a counter wants
+    public long get(long key) {
+        return getOrDefault(key, 0L);
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key} (missing = 0) and returns the new value.
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] += delta; // updated in place
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+
+    public long increment(long key) {
+        return addTo(key, 1);
+    }
+
+    // Returns the previous value, or 0 if the key was missing
+    public long put(long key, long value) {
+        if (key == 0) {
+            long old = hasZeroKey ? zeroValue : 0L;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int i = hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                long old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return 0L;
+    }
+
+    // Presizes keys[] and values[] with IntObjectHashMap.capacityFor → at most one rehash
+    public void ensureCapacity(int expectedSize) {
+        int capacity = IntObjectHashMap.capacityFor(expectedSize, LOAD_FACTOR);
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    public void putAll(long[] keys, long[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    // Returns the removed value, or 0 if the key was missing
+    public long remove(long key) {
+        if (key == 0) {
+            long old = hasZeroKey ? zeroValue : 0L;
+            hasZeroKey = false;
+            zeroValue = 0L;
+            return old;
+        }
+        for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                long old = values[i];
+                deleteSlot(i);
+                return old;
+            }
+        }
+        return 0L;
+    }
+
+    // Backward-shift deletion (see IntObjectHashMap)
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        // Bytes transferred per user ID (IDs are large longs, totals exceed int range)
+        long[] userIds = { 9_000_000_001L, 9_000_000_002L, 9_000_000_001L, 0L, 9_000_000_001L };
+        long[] bytes = { 1_500_000_000L, 700L, 1_500_000_000L, 42L, 10L };
+
+        LongLongHashMap totals = new LongLongHashMap();
+        for (int i = 0; i < userIds.length; i++) {
+            totals.addTo(userIds[i], bytes[i]);
+        }
+        System.out.println("Totals: " + totals);
+        System.out.println("User 9000000001 → " + totals.get(9_000_000_001L));
+        System.out.println("User 0 → " + totals.get(0L) + ", unknown → " + totals.getOrDefault(7L, -1L));
+    }
+}
@@ -0,0 +1,357 @@
+package Map.Hashmap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Cache whose keys and values live outside the Java heap, serialized into fixed-size
+ * slabs (direct or memory-mapped {@link ByteBuffer}s). The only heap structure is an
+ * open-addressing index of {@code long} record addresses (about 16 bytes per entry).
+ * When all slabs are full the oldest slab is recycled; entries read from that slab are
+ * moved forward first, which approximates LRU. Methods are synchronized.
+ * {@link #close()} frees the slabs at once; a cache that is never closed is freed
+ * (and reported as a leak) by {@link ResourceRegistry#DEFAULT}.
+ */
+public class OffHeapLRUCache<K, V> implements AutoCloseable {
+
+    // Record layout inside a slab: [int hash][int keyLength][int valueLength][key][value]
+    private static final int HEADER = 3 * Integer.BYTES;
+
+    private final ByteBuffer[] slabs;
+    private final int[] slabUsed;      // bytes written into each slab
+    private final int slabSize;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final ResourceRegistry.Resource resource;
+    private boolean closed;
+
+    // 🔹 Index: address + 1 of each record (0 = empty slot), linear probing
+    private long[] index = new long[64];
+    private int size;
+    private int writeSlab;
+    private long evictions;
+
+    public OffHeapLRUCache(int slabSize, int slabCount, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(allocateDirect(slabSize, slabCount), slabSize, keySerializer, valueSerializer);
+    }
+
+    private OffHeapLRUCache(ByteBuffer[] slabs, int slabSize, Serializer<K> keySerializer,
+            Serializer<V> valueSerializer) {
+        this.slabs = slabs;
+        this.slabUsed = new int[slabs.length];
+        this.slabSize = slabSize;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.resource = ResourceRegistry.DEFAULT.register(this,
+                "OffHeapLRUCache(" + slabs.length + " x " + slabSize + " bytes)", slabs);
+    }
+
+    /**
+     * Same cache, but the slabs are regions of a memory-mapped file: the OS pages
+     * them in and out, so the cache can even be larger than physical memory.
+     */
+    public static <K, V> OffHeapLRUCache<K, V> mapped(Path file, int slabSize, int slabCount,
+            Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        checkSlabs(slabSize, slabCount);
+        ByteBuffer[] slabs = new ByteBuffer[slabCount];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < slabCount; i++) {
+                // The mapping stays valid after the channel is closed
+                slabs[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * slabSize, slabSize);
+            }
+        }
+        return new OffHeapLRUCache<>(slabs, slabSize, keySerializer, valueSerializer);
+    }
+
+    private static ByteBuffer[] allocateDirect(int slabSize, int slabCount) {
+        checkSlabs(slabSize, slabCount);
+        ByteBuffer[] slabs = new ByteBuffer[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            slabs[i] = ByteBuffer.allocateDirect(slabSize);
+        }
+        return slabs;
+    }
+
+    private static void checkSlabs(int slabSize, int slabCount) {
+        if (slabSize <= HEADER || slabCount < 2) {
+            throw new IllegalArgumentException("need at least 2 slabs larger than " + HEADER + " bytes");
+        }
+    }
+
+    public synchronized V get(K key) {
+        ensureOpen();
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        int slot = find(keyBytes, hash);
+        if (slot < 0) {
+            return null;
+        }
+        long address = index[slot] - 1;
+        ByteBuffer slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        int keyLength = slab.getInt(offset + 4);
+        int valueLength = slab.getInt(offset + 8);
+        byte[] valueBytes = new byte[valueLength];
+        slab.get(offset + HEADER + keyLength, valueBytes);
+
+        // 🔹 Read from the slab that will be recycled next → move it to the newest slab
+        if (slabOf(address) == (writeSlab + 1) % slabs.length) {
+            putBytes(keyBytes, hash, valueBytes);
+        }
+        return valueSerializer.deserialize(ByteBuffer.wrap(valueBytes));
+    }
+
+    public synchronized void put(K key, V value) {
+        ensureOpen();
+        byte[] keyBytes = keySerializer.serialize(key);
+        putBytes(keyBytes, hash(keyBytes), valueSerializer.serialize(value));
+    }
+
+    public synchronized boolean remove(K key) {
+        ensureOpen();
+        byte[] keyBytes = keySerializer.serialize(key);
+        int slot = find(keyBytes, hash(keyBytes));
+        if (slot < 0) {
+            return false;
+        }
+        deleteSlot(slot); // the bytes stay in the slab as garbage until it is recycled
+        return true;
+    }
+
+    public synchronized boolean containsKey(K key) {
+        ensureOpen();
+        byte[] keyBytes = keySerializer.serialize(key);
+        return find(keyBytes, hash(keyBytes)) >= 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    // 🔹 Heap used by the index (the only per-entry on-heap cost)
+    public synchronized long indexHeapBytes() {
+        return (long) index.length * Long.BYTES;
+    }
+
+    public long offHeapBytes() {
+        return (long) slabs.length * slabSize;
+    }
+
+    /**
+     * Frees the off-heap memory now. The cache cannot be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            size = 0;
+            resource.close();
+        }
+    }
+
+    // 🔸 Touching a freed direct buffer would crash the JVM, not just throw
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("cache is closed");
+        }
+    }
+
+    private void putBytes(byte[] keyBytes, int hash, byte[] valueBytes) {
+        int recordSize = HEADER + keyBytes.length + valueBytes.length;
+        if (recordSize > slabSize) {
+            throw new IllegalArgumentException("entry of " + recordSize + " bytes does not fit a slab of " + slabSize);
+        }
+        int existing = find(keyBytes, hash);
+        if (existing >= 0) {
+            deleteSlot(existing);
+        }
+        if (slabUsed[writeSlab] + recordSize > slabSize) {
+            advanceSlab();
+        }
+        int offset = slabUsed[writeSlab];
+        ByteBuffer slab = slabs[writeSlab];
+        slab.putInt(offset, hash);
+        slab.putInt(offset + 4, keyBytes.length);
+        slab.putInt(offset + 8, valueBytes.length);
+        slab.put(offset + HEADER, keyBytes);
+        slab.put(offset + HEADER + keyBytes.length, valueBytes);
+        slabUsed[writeSlab] = offset + recordSize;
+
+        insert(hash, ((long) writeSlab << 32) | offset);
+    }
+
+    // 🔹 Move to the next slab; if it still holds data, evict everything in it (oldest data)
+    private void advanceSlab() {
+        writeSlab = (writeSlab + 1) % slabs.length;
+        ByteBuffer slab = slabs[writeSlab];
+        int offset = 0;
+        while (offset < slabUsed[writeSlab]) {
+            int hash = slab.getInt(offset);
+            int recordSize = HEADER + slab.getInt(offset + 4) + slab.getInt(offset + 8);
+            long address = ((long) writeSlab << 32) | offset;
+            int slot = slotOfAddress(hash, address);
+            if (slot >= 0) {
+                deleteSlot(slot);
+                evictions++;
+            }
+            offset += recordSize;
+        }
+        slabUsed[writeSlab] = 0;
+    }
+
+    private int find(byte[] keyBytes, int hash) {
+        int mask = index.length - 1;
+        for (int i = hash & mask; index[i] != 0; i = (i + 1) & mask) {
+            long address = index[i] - 1;
+            ByteBuffer slab = slabs[slabOf(address)];
+            int offset = offsetOf(address);
+            if (slab.getInt(offset) == hash && slab.getInt(offset + 4) == keyBytes.length
+                    && keyEquals(slab, offset + HEADER, keyBytes)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int slotOfAddress(int hash, long address) {
+        int mask = index.length - 1;
+        for (int i = hash & mask; index[i] != 0; i = (i + 1) & mask) {
+            if (index[i] - 1 == address) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean keyEquals(ByteBuffer slab, int offset, byte[] keyBytes) {
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (slab.get(offset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int hash, long address) {
+        if ((size + 1) * 2 > index.length) {
+            resizeIndex();
+        }
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = address + 1;
+        size++;
+    }
+
+    // 🔹 Backward-shift deletion: keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            if (index[i] == 0) {
+                break;
+            }
+            int home = recordHash(index[i] - 1) & mask;
+            // Move entry i into the hole if its home slot is not between hole and i (cyclically)
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                index[hole] = index[i];
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+        size--;
+    }
+
+    private void resizeIndex() {
+        long[] old = index;
+        index = new long[old.length * 2];
+        int mask = index.length - 1;
+        for (long entry : old) {
+            if (entry != 0) {
+                int i = recordHash(entry - 1) & mask;
+                while (index[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                index[i] = entry;
+            }
+        }
+    }
+
+    private int recordHash(long address) {
+        return slabs[slabOf(address)].getInt(offsetOf(address));
+    }
+
+    private static int slabOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // 4 slabs of 64 KB = 256 KB off-heap
+        OffHeapLRUCache<Integer, String> cache =
+                new OffHeapLRUCache<>(64 * 1024, 4, Serializer.INTEGER, Serializer.STRING);
+
+        for (int i = 0; i < 20_000; i++) {
+            cache.put(i, "value-" + i);
+            cache.get(7); // key 7 keeps being read → it is carried forward and never evicted
+        }
+        System.out.println("Entries: " + cache.size() + ", evicted: " + cache.evictionCount());
+        System.out.println("Key 7 → " + cache.get(7) + ", key 19999 → " + cache.get(19_999) + ", key 0 → " + cache.get(0));
+        System.out.println("Heap index: " + cache.indexHeapBytes() + " bytes, off-heap: " + cache.offHeapBytes() + " bytes");
+
+        // Same cache backed by a memory-mapped file
+        Path file = Files.createTempFile("offheap-cache", ".bin");
+        file.toFile().deleteOnExit();
+        OffHeapLRUCache<String, String> mapped =
+                OffHeapLRUCache.mapped(file, 16 * 1024, 2, Serializer.STRING, Serializer.STRING);
+        mapped.put("Java", "Duke");
+        System.out.println("Mapped file cache: Java → " + mapped.get("Java"));
+        mapped.close(); // unmaps the file now
+        cache.close();
+    }
+}
+
+/*
+ * 🚀 Off-Heap Cache 🚀
+ *
+ * 🔹 Problem:
+ * - Millions of cached objects live in the old generation.
+ * - Every full GC must walk all of them → long pauses.
+ *
+ * 🔹 Idea:
+ * - Store keys/values as BYTES in direct ByteBuffers (outside the heap).
+ * - GC sees only a few big buffers + one long[] index → nothing to walk.
+ *
+ * 🔹 Slabs (log-structured):
+ * - Records are appended to the current slab.
+ * - Full slab → move to the next one; if the ring is full, the OLDEST slab is
+ * recycled and all its entries are evicted together (cheap, no fragmentation).
+ * - Reading an entry from the oldest slab copies it forward → hot entries survive.
+ *
+ * 🔹 Trade-offs:
+ * - Every get() deserializes a copy of the value.
+ * - Eviction is per slab → approximate LRU.
+ * - Off-heap memory is not freed by GC promptly → close() it (ResourceRegistry).
+ */
@@ -0,0 +1,247 @@
+package Map.Hashmap;
+
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks off-heap buffers owned by collections (e.g. the slabs of {@link OffHeapLRUCache})
+ * without finalize(). Each owner is registered with a {@link Cleaner}, which watches
+ * it through a PhantomReference:
+ * <ul>
+ *   <li>{@link Resource#close()} frees the native memory immediately;</li>
+ *   <li>if the owner becomes unreachable without close(), the Cleaner frees it and the
+ *   registry reports a leak — with the allocation stack trace for a sample of registrations.</li>
+ * </ul>
+ */
+public final class ResourceRegistry {
+
+    public static final ResourceRegistry DEFAULT = new ResourceRegistry(16, ResourceRegistry::printLeak);
+
+    // 🔹 sun.misc.Unsafe.invokeCleaner(ByteBuffer) frees a direct/mapped buffer right now (Java 9+)
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available → buffers are released later by the GC, as usual
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * What was leaked; {@code allocationSite} is null when this registration was not sampled.
+     */
+    public static final class LeakReport {
+        public final String description;
+        public final long bytes;
+        public final Throwable allocationSite;
+
+        LeakReport(String description, long bytes, Throwable allocationSite) {
+            this.description = description;
+            this.bytes = bytes;
+            this.allocationSite = allocationSite;
+        }
+
+        @Override
+        public String toString() {
+            return "LEAK: " + description + " (" + bytes + " bytes) was not closed"
+                    + (allocationSite == null ? " [allocation site not sampled]" : "");
+        }
+    }
+
+    /**
+     * Handle kept by the owner. Closing it frees the buffers; closing twice does nothing.
+     */
+    public static final class Resource implements AutoCloseable {
+        private final Cleaner.Cleanable cleanable;
+        private final State state;
+
+        Resource(Cleaner.Cleanable cleanable, State state) {
+            this.cleanable = cleanable;
+            this.state = state;
+        }
+
+        public long bytes() {
+            return state.bytes;
+        }
+
+        public boolean isFreed() {
+            return state.freed;
+        }
+
+        @Override
+        public void close() {
+            state.closedExplicitly = true;
+            cleanable.clean(); // runs the State at most once, whoever comes first
+        }
+    }
+
+    // 🔸 The cleaning action must NOT reference the owner, or the owner never becomes unreachable
+    private final class State implements Runnable {
+        private final String description;
+        private final ByteBuffer[] buffers;
+        private final long bytes;
+        private final Throwable allocationSite;
+        private volatile boolean closedExplicitly;
+        private volatile boolean freed;
+
+        State(String description, ByteBuffer[] buffers, long bytes, Throwable allocationSite) {
+            this.description = description;
+            this.buffers = buffers;
+            this.bytes = bytes;
+            this.allocationSite = allocationSite;
+        }
+
+        @Override
+        public void run() {
+            if (!closedExplicitly) {
+                leaks.incrementAndGet();
+                leakListener.accept(new LeakReport(description, bytes, allocationSite));
+            }
+            for (ByteBuffer buffer : buffers) {
+                free(buffer);
+            }
+            freed = true;
+            liveResources.decrementAndGet();
+            liveBytes.addAndGet(-bytes);
+        }
+    }
+
+    private final Cleaner cleaner = Cleaner.create();
+    private final Consumer<LeakReport> leakListener;
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicLong liveResources = new AtomicLong();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private volatile int sampleEvery;
+
+    /**
+     * @param sampleEvery capture the allocation stack trace for 1 in {@code sampleEvery}
+     *                    registrations (0 = never); capturing costs one Throwable
+     */
+    public ResourceRegistry(int sampleEvery, Consumer<LeakReport> leakListener) {
+        sampleAllocationSites(sampleEvery);
+        this.leakListener = Objects.requireNonNull(leakListener, "leakListener");
+    }
+
+    public void sampleAllocationSites(int every) {
+        if (every < 0) {
+            throw new IllegalArgumentException("sampleEvery must be >= 0");
+        }
+        this.sampleEvery = every;
+    }
+
+    /**
+     * Starts tracking {@code buffers}, which belong to {@code owner}.
+     */
+    public Resource register(Object owner, String description, ByteBuffer... buffers) {
+        Objects.requireNonNull(owner, "owner");
+        long bytes = 0;
+        for (ByteBuffer buffer : buffers) {
+            bytes += buffer.capacity();
+        }
+        int every = sampleEvery;
+        Throwable site = every > 0 && registrations.getAndIncrement() % every == 0
+                ? new Throwable("allocated here: " + description)
+                : null;
+        State state = new State(description, buffers.clone(), bytes, site);
+        liveResources.incrementAndGet();
+        liveBytes.addAndGet(bytes);
+        return new Resource(cleaner.register(owner, state), state);
+    }
+
+    // Direct and mapped buffers are freed/unmapped now; heap buffers are left to the GC
+    static void free(ByteBuffer buffer) {
+        if (!buffer.isDirect() || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // e.g. a slice/duplicate: its memory is freed together with the original buffer
+        }
+    }
+
+    public long liveResources() {
+        return liveResources.get();
+    }
+
+    public long liveBytes() {
+        return liveBytes.get();
+    }
+
+    public long leakCount() {
+        return leaks.get();
+    }
+
+    static void printLeak(LeakReport report) {
+        System.err.println(report);
+        if (report.allocationSite != null) {
+            report.allocationSite.printStackTrace();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        DEFAULT.sampleAllocationSites(1); // demo: capture every allocation site
+
+        // 🔸 Correct use: try-with-resources → native memory freed at the closing brace
+        try (OffHeapLRUCache<Integer, String> cache =
+                     new OffHeapLRUCache<>(1 << 20, 4, Serializer.INTEGER, Serializer.STRING)) {
+            cache.put(1, "one");
+            System.out.println("Open:   live=" + DEFAULT.liveResources() + ", bytes=" + DEFAULT.liveBytes());
+        }
+        System.out.println("Closed: live=" + DEFAULT.liveResources() + ", bytes=" + DEFAULT.liveBytes());
+
+        // 🔸 Leak: cache dropped without close() → Cleaner frees it after GC and reports the site
+        leakCache();
+        for (int i = 0; i < 10 && DEFAULT.liveResources() > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        System.out.println("After GC: live=" + DEFAULT.liveResources() + ", leaks reported=" + DEFAULT.leakCount());
+    }
+
+    private static void leakCache() {
+        OffHeapLRUCache<Integer, String> forgotten =
+                new OffHeapLRUCache<>(1 << 20, 2, Serializer.INTEGER, Serializer.STRING);
+        forgotten.put(42, "never closed");
+    }
+}
+
+/*
+ * 🚀 Cleaner Instead of finalize() 🚀
+ *
+ * 🔹 finalize() problems (see GC.java → Phone):
+ * - Finalizable objects survive at least one extra GC → promoted → longer pauses.
+ * - One finalizer thread runs them "some time later" → native memory freed late.
+ * - finalize() can resurrect the object; deprecated since Java 9.
+ *
+ * 🔹 java.lang.ref.Cleaner:
+ * - cleaner.register(owner, action) → watches owner with a PhantomReference.
+ * - owner unreachable → action runs on the Cleaner thread (owner itself is already gone).
+ * - cleanable.clean() → run the action NOW (deterministic), at most once.
+ * - ⚠️ action must not reference owner (no lambda capturing `this`).
+ *
+ * 🔹 Leak detection:
+ * - close() called → normal free.
+ * - Cleaner ran first → nobody closed it → LEAK report.
+ * - Stack trace of the allocation is captured for 1 in N registrations (sampling keeps it cheap).
+ *
+ * 🔹 Freeing a direct ByteBuffer now:
+ * - Unsafe.invokeCleaner(buffer) (found via reflection) → memory released immediately,
+ * instead of waiting for the GC to collect the buffer object.
+ */
@@ -0,0 +1,627 @@
+package Map.Hashmap;
+
+import java.security.SecureRandom;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Hash map that is hard to attack with crafted keys ("hash flooding").
+ * Each instance picks a random secret seed and hashes keys with SipHash-1-3
+ * ({@link SipHasher}) instead of {@code hashCode()}: Strings, boxed numbers, UUIDs and
+ * {@link Hasher} keys are hashed field by field, other keys fall back to their hashCode().
+ * If a bucket still grows suspiciously long, the map picks a new seed and rehashes.
+ * Keys of one {@link Comparable} class that share a hash (equal hashCode() on the fallback
+ * path, which no seed can split) are moved into a tree ordered by compareTo, as in
+ * {@link HashMap}, so lookups stay O(log n).
+ * Limit: keys that are neither Hasher, content-hashed JDK types nor Comparable and that
+ * share one hashCode() still end up in one list → O(n) per lookup; implement
+ * {@link Hasher} for such key types.
+ * Null keys and values are allowed. Not thread-safe.
+ */
+public class SeededHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+    private static final int MAX_CHAIN = 8;
+    private static final int TREEIFY_THRESHOLD = 8; // same-hash keys of one class before they form a tree
+
+    static class Node<K, V> implements Map.Entry<K, V> {
+        long hash;
+        final K key;
+        V value;
+        Node<K, V> next;
+
+        Node(long hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Stands in a chain for ALL keys of one Comparable class that share one hash. The keys
+     * live in a TreeMap ordered by compareTo; keys that compare equal without being
+     * equals() hang off each other's {@code next}.
+     */
+    static final class TreeBin<K, V> extends Node<K, V> {
+        final Class<?> keyClass;
+        final TreeMap<Object, Node<K, V>> nodes = new TreeMap<>();
+        int count;
+
+        TreeBin(long hash, Class<?> keyClass) {
+            super(hash, null, null, null);
+            this.keyClass = keyClass;
+        }
+
+        boolean holds(Object key) {
+            return key != null && key.getClass() == keyClass;
+        }
+
+        Node<K, V> find(Object key) {
+            for (Node<K, V> n = nodes.get(key); n != null; n = n.next) {
+                if (n.key.equals(key)) {
+                    return n;
+                }
+            }
+            return null;
+        }
+
+        void add(Node<K, V> node) {
+            node.hash = hash;
+            node.next = nodes.get(node.key);
+            nodes.put(node.key, node);
+            count++;
+        }
+
+        Node<K, V> remove(Object key) {
+            Node<K, V> prev = null;
+            for (Node<K, V> n = nodes.get(key); n != null; prev = n, n = n.next) {
+                if (n.key.equals(key)) {
+                    if (prev != null) {
+                        prev.next = n.next;
+                    } else {
+                        nodes.remove(key);
+                        if (n.next != null) {
+                            nodes.put(n.next.key, n.next);
+                        }
+                    }
+                    count--;
+                    return n;
+                }
+            }
+            return null;
+        }
+
+        // Every entry, ties included; a copy, so the map may change while it is walked
+        List<Node<K, V>> entries() {
+            List<Node<K, V>> entries = new ArrayList<>(count);
+            for (Node<K, V> head : nodes.values()) {
+                for (Node<K, V> n = head; n != null; n = n.next) {
+                    entries.add(n);
+                }
+            }
+            return entries;
+        }
+    }
+
+    // 🔹 Secret seed; every hash() starts its own SipHasher from it → lookups share no state
+    private long k0;
+    private long k1;
+    private Node<K, V>[] table;
+    private int size;
+    private int modCount;
+    private boolean reseededAtThisSize;
+
+    public SeededHashMap() {
+        this(16);
+    }
+
+    public SeededHashMap(int expectedSize) {
+        this.k0 = SEEDS.nextLong();
+        this.k1 = SEEDS.nextLong();
+        this.table = newTable(capacityFor(expectedSize));
+    }
+
+    // Power of two that holds expectedSize entries below the 3/4 load factor
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        long needed = Math.max(1, (long) expectedSize * 4 / 3); // long: expectedSize * 4 overflows int
+        if (needed >= (1 << 30)) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Math.max(16, Integer.highestOneBit((int) needed) << 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(int capacity) {
+        return (Node<K, V>[]) new Node<?, ?>[capacity];
+    }
+
+    // 🔹 Keyed hash of the key's CONTENT (not its hashCode) where the type allows it
+    long hash(Object key) {
+        SipHasher h = new SipHasher(k0, k1); // short-lived, usually scalar-replaced by the JIT
+        if (key == null) {
+            h.putByte(0);
+        } else if (key instanceof Hasher) {
+            ((Hasher) key).hashInto(h);
+        } else if (key instanceof CharSequence) {
+            h.putString((CharSequence) key);
+        } else if (key instanceof Long || key instanceof Integer || key instanceof Short
+                || key instanceof Byte || key instanceof Character) {
+            h.putLong(key instanceof Character ? (Character) key : ((Number) key).longValue());
+        } else if (key instanceof UUID) {
+            UUID uuid = (UUID) key; // hashCode() folds 128 bits into 32 → trivial to collide
+            h.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        } else if (key instanceof Double) {
+            h.putLong(Double.doubleToLongBits((Double) key)); // the bits equals() compares
+        } else if (key instanceof Float) {
+            h.putInt(Float.floatToIntBits((Float) key));
+        } else {
+            h.putInt(key.hashCode()); // best effort: collisions in hashCode() stay collisions
+        }
+        return h.finish();
+    }
+
+    // Bucket from the HIGH bits of the 64-bit hash
+    private int indexFor(long hash, int length) {
+        return (int) (hash >>> (64 - Integer.numberOfTrailingZeros(length)));
+    }
+
+    private Node<K, V> findNode(Object key) {
+        long hash = hash(key);
+        for (Node<K, V> n = table[indexFor(hash, table.length)]; n != null; n = n.next) {
+            if (n.hash != hash) {
+                continue;
+            }
+            if (n instanceof TreeBin) {
+                TreeBin<K, V> bin = (TreeBin<K, V>) n;
+                if (bin.holds(key)) {
+                    return bin.find(key); // every key of this class and hash is in the tree
+                }
+            } else if (Objects.equals(n.key, key)) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> n = findNode(key);
+        return n == null ? null : n.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        long hash = hash(key);
+        int index = indexFor(hash, table.length);
+        int chain = 0;
+        int sameHash = 0;
+        TreeBin<K, V> bin = null;
+        for (Node<K, V> n = table[index]; n != null; n = n.next) {
+            if (n.hash == hash) {
+                if (n instanceof TreeBin && ((TreeBin<K, V>) n).holds(key)) {
+                    bin = (TreeBin<K, V>) n;
+                    break;
+                }
+                if (!(n instanceof TreeBin) && Objects.equals(n.key, key)) {
+                    return n.setValue(value);
+                }
+                sameHash++;
+            }
+            chain++;
+        }
+        if (bin != null) {
+            Node<K, V> existing = bin.find(key);
+            if (existing != null) {
+                return existing.setValue(value);
+            }
+            bin.add(new Node<>(hash, key, value, null));
+        } else {
+            table[index] = new Node<>(hash, key, value, table[index]);
+        }
+        size++;
+        modCount++;
+        if (size > table.length * 3 / 4) {
+            rehash(table.length * 2, false);
+            return null;
+        }
+        if (bin == null && sameHash + 1 >= TREEIFY_THRESHOLD) {
+            // 🔸 Equal hashes stay equal under EVERY seed → a tree, not a reseed, bounds the walk
+            treeify(index, hash, key);
+        }
+        if (chain - sameHash >= MAX_CHAIN && !reseededAtThisSize) {
+            // 🔹 Many DIFFERENT hashes in one bucket → maybe someone learned the seed: pick a new one
+            rehash(table.length, true);
+        }
+        return null;
+    }
+
+    // Moves the plain nodes with this hash and key's class into a new TreeBin at the bucket head
+    private void treeify(int index, long hash, K key) {
+        if (!(key instanceof Comparable)) {
+            return;
+        }
+        TreeBin<K, V> bin = new TreeBin<>(hash, key.getClass());
+        int count = 0;
+        for (Node<K, V> n = table[index]; n != null; n = n.next) {
+            if (n.hash == hash && !(n instanceof TreeBin) && bin.holds(n.key)) {
+                count++;
+            }
+        }
+        if (count < TREEIFY_THRESHOLD) {
+            return;
+        }
+        Node<K, V> prev = null;
+        for (Node<K, V> n = table[index]; n != null; ) {
+            Node<K, V> next = n.next;
+            if (n.hash == hash && !(n instanceof TreeBin) && bin.holds(n.key)) {
+                unlink(index, prev, n);
+                bin.add(n);
+            } else {
+                prev = n;
+            }
+            n = next;
+        }
+        bin.next = table[index];
+        table[index] = bin;
+    }
+
+    // At most one rehash, and it keeps the current seed
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > table.length) {
+            rehash(capacity, false);
+        }
+    }
+
+    public void putAll(K[] keys, V[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    public V remove(Object key) {
+        long hash = hash(key);
+        int index = indexFor(hash, table.length);
+        Node<K, V> prev = null;
+        for (Node<K, V> n = table[index]; n != null; prev = n, n = n.next) {
+            if (n.hash != hash) {
+                continue;
+            }
+            if (n instanceof TreeBin) {
+                TreeBin<K, V> bin = (TreeBin<K, V>) n;
+                if (!bin.holds(key)) {
+                    continue;
+                }
+                Node<K, V> removed = bin.remove(key);
+                if (removed == null) {
+                    return null;
+                }
+                if (bin.count == 0) {
+                    unlink(index, prev, bin);
+                }
+                size--;
+                modCount++;
+                return removed.value;
+            }
+            if (Objects.equals(n.key, key)) {
+                unlink(index, prev, n);
+                size--;
+                modCount++;
+                return n.value;
+            }
+        }
+        return null;
+    }
+
+    private void unlink(int index, Node<K, V> prev, Node<K, V> node) {
+        if (prev == null) {
+            table[index] = node.next;
+        } else {
+            prev.next = node.next;
+        }
+    }
+
+    private void rehash(int newCapacity, boolean newSeed) {
+        if (newSeed) {
+            k0 = SEEDS.nextLong();
+            k1 = SEEDS.nextLong();
+        }
+        reseededAtThisSize = newSeed;
+        Node<K, V>[] old = table;
+        table = newTable(newCapacity);
+        for (Node<K, V> head : old) {
+            for (Node<K, V> n = head; n != null; ) {
+                Node<K, V> next = n.next;
+                if (newSeed && n instanceof TreeBin) {
+                    reseedBin((TreeBin<K, V>) n);
+                    n = next;
+                    continue;
+                }
+                if (newSeed) {
+                    n.hash = hash(n.key);
+                }
+                link(n);
+                n = next;
+            }
+        }
+    }
+
+    private void link(Node<K, V> n) {
+        int index = indexFor(n.hash, table.length);
+        n.next = table[index];
+        table[index] = n;
+    }
+
+    // A bin stays a bin if its keys still share one hash under the new seed, else its nodes go back to chains
+    private void reseedBin(TreeBin<K, V> bin) {
+        List<Node<K, V>> entries = bin.entries();
+        boolean shared = true;
+        for (Node<K, V> n : entries) {
+            n.hash = hash(n.key);
+            shared &= n.hash == entries.get(0).hash;
+        }
+        if (shared) {
+            bin.hash = entries.get(0).hash;
+            link(bin);
+            return;
+        }
+        for (Node<K, V> n : entries) {
+            link(n);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            table = newTable(table.length);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int bucket = -1;
+        private Node<K, V> chain;                // rest of the current bucket's chain
+        private Iterator<Node<K, V>> binEntries; // entries of a TreeBin being walked
+        private Node<K, V> next;
+        private Node<K, V> last;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            next = advance();
+        }
+
+        private Node<K, V> advance() {
+            while (true) {
+                if (binEntries != null && binEntries.hasNext()) {
+                    return binEntries.next();
+                }
+                binEntries = null;
+                if (chain != null) {
+                    Node<K, V> n = chain;
+                    chain = n.next;
+                    if (n instanceof TreeBin) {
+                        binEntries = ((TreeBin<K, V>) n).entries().iterator();
+                        continue;
+                    }
+                    return n;
+                }
+                if (++bucket >= table.length) {
+                    return null;
+                }
+                chain = table[bucket];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            SeededHashMap.this.remove(last.key);
+            last = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Student implements Hasher → its name and id are hashed with the secret seed
+        Map<Student, String> map = new SeededHashMap<>();
+        map.put(new Student("Arav", 1), "Engineer");
+        map.put(new Student("Bob", 2), "Doctor");
+        map.put(new Student("Arav", 1), "Manager"); // equal key → replaces
+        System.out.println("Size: " + map.size() + ", Arav → " + map.get(new Student("Arav", 1)));
+
+        // 🔸 Attack: Strings with the SAME hashCode ("Aa" and "BB" collide, so do all their combos)
+        String[] colliding = collidingStrings(14); // 16,384 keys, one hashCode
+        System.out.println("All same hashCode? " + (colliding[0].hashCode() == colliding[colliding.length - 1].hashCode()));
+
+        Map<String, Integer> seeded = new SeededHashMap<>();
+        Map<String, Integer> plain = new HashMap<>();
+        System.out.println("SeededHashMap insert: " + fill(seeded, colliding) + " ms");
+        System.out.println("HashMap       insert: " + fill(plain, colliding) + " ms (one bucket, tree of 16k keys)");
+    }
+
+    static final class Student implements Hasher {
+        private final String name;
+        private final int id;
+
+        Student(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public void hashInto(SipHasher sink) {
+            sink.putString(name).putInt(id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Student)) return false;
+            Student that = (Student) obj;
+            return id == that.id && Objects.equals(name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, id);
+        }
+    }
+
+    // "Aa" and "BB" have equal hashCodes, so every string made of them collides
+    private static String[] collidingStrings(int blocks) {
+        String[] result = new String[1 << blocks];
+        for (int i = 0; i < result.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < blocks; b++) {
+                sb.append(((i >>> b) & 1) == 0 ? "Aa" : "BB");
+            }
+            result[i] = sb.toString();
+        }
+        return result;
+    }
+
+    private static long fill(Map<String, Integer> map, String[] keys) {
+        long start = System.nanoTime();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        for (String key : keys) {
+            map.get(key);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
+
+/*
+ * 🚀 Hash Flooding 🚀
+ *
+ * 🔹 Attack:
+ * - hashCode() is PUBLIC and PREDICTABLE (e.g. Objects.hash(name, id), String.hashCode()).
+ * - An attacker sends thousands of keys with the same hash → one giant bucket.
+ * - Every put/get walks that bucket → O(n) per request → server CPU at 100%.
+ * - Java 8+ HashMap turns big buckets into trees (O(log n)) – better, but still slow.
+ *
+ * 🔹 Defense – keyed hashing:
+ * - Hash = SipHash(secretSeed, key content). Different seed per map instance.
+ * - Without the seed, colliding keys cannot be computed in advance.
+ * - If a bucket still gets long → choose a new seed and rehash everything.
+ *
+ * 🔹 Equal hashCode() on the fallback path:
+ * - Hash = SipHash(seed, hashCode()) → same hashCode, same hash under EVERY seed.
+ * - Reseeding cannot split them → Comparable keys go into a tree (compareTo), like HashMap.
+ * - UUID, Double, Float are hashed by content, so their hashCode() collisions do not matter.
+ * - Other keys (not Comparable, no Hasher) with one hashCode → still one long list.
+ *
+ * 🔹 Hasher interface:
+ * - Custom key classes feed their fields (the same ones equals() uses) into the SipHasher.
+ * - Example: Student → sink.putString(name); sink.putInt(id);
+ */
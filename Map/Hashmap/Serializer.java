@@ -0,0 +1,90 @@
+package Map.Hashmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts objects to bytes and back, for storing keys/values outside the Java heap.
+ */
+public interface Serializer<T> {
+
+    byte[] serialize(T value);
+
+    // 🔹 Reads from position() to limit() of the buffer
+    T deserialize(ByteBuffer buffer);
+
+    Serializer<String> STRING = new Serializer<String>() {
+        @Override
+        public byte[] serialize(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    Serializer<Integer> INTEGER = new Serializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer deserialize(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    Serializer<Long> LONG = new Serializer<Long>() {
+        @Override
+        public byte[] serialize(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long deserialize(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    // 🔹 Fallback for any Serializable type (slow, but works for everything)
+    static <T extends Serializable> Serializer<T> java() {
+        return new Serializer<T>() {
+            @Override
+            public byte[] serialize(T value) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T deserialize(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return (T) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package Map.Hashmap;
+
+/**
+ * Streaming SipHash-1-3: a fast keyed hash function. Without the 128-bit key an
+ * attacker cannot predict the hash values, so cannot craft colliding keys.
+ * One instance is reused for many keys ({@link #reset}); not thread-safe.
+ */
+public final class SipHasher {
+
+    private long k0;
+    private long k1;
+    private long v0, v1, v2, v3;
+    private long tail;       // bytes not yet forming a full 8-byte block
+    private int tailBytes;
+    private int length;
+
+    public SipHasher(long k0, long k1) {
+        reset(k0, k1);
+    }
+
+    public SipHasher reset(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+        v0 = k0 ^ 0x736f6d6570736575L;
+        v1 = k1 ^ 0x646f72616e646f6dL;
+        v2 = k0 ^ 0x6c7967656e657261L;
+        v3 = k1 ^ 0x7465646279746573L;
+        tail = 0;
+        tailBytes = 0;
+        length = 0;
+        return this;
+    }
+
+    // 🔹 Start a new hash with the same key
+    public SipHasher reset() {
+        return reset(k0, k1);
+    }
+
+    public SipHasher putByte(int b) {
+        tail |= (b & 0xFFL) << (tailBytes << 3);
+        length++;
+        if (++tailBytes == 8) {
+            compress(tail);
+            tail = 0;
+            tailBytes = 0;
+        }
+        return this;
+    }
+
+    public SipHasher putInt(int value) {
+        for (int i = 0; i < 4; i++) {
+            putByte(value >>> (i << 3));
+        }
+        return this;
+    }
+
+    public SipHasher putLong(long value) {
+        if (tailBytes == 0) {
+            compress(value); // fast path: already block-aligned
+            length += 8;
+            return this;
+        }
+        for (int i = 0; i < 8; i++) {
+            putByte((int) (value >>> (i << 3)));
+        }
+        return this;
+    }
+
+    // 🔹 Length first, so ("ab","c") and ("a","bc") hash differently
+    public SipHasher putString(CharSequence s) {
+        if (s == null) {
+            return putInt(-1);
+        }
+        putInt(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            putByte(c);
+            putByte(c >>> 8);
+        }
+        return this;
+    }
+
+    public long finish() {
+        long b = ((long) length << 56) | tail;
+        v3 ^= b;
+        sipRound();
+        v0 ^= b;
+        v2 ^= 0xFF;
+        sipRound();
+        sipRound();
+        sipRound();
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    // 1 compression round per 8-byte block ("1" in SipHash-1-3)
+    private void compress(long m) {
+        v3 ^= m;
+        sipRound();
+        v0 ^= m;
+    }
+
+    private void sipRound() {
+        v0 += v1;
+        v1 = Long.rotateLeft(v1, 13);
+        v1 ^= v0;
+        v0 = Long.rotateLeft(v0, 32);
+        v2 += v3;
+        v3 = Long.rotateLeft(v3, 16);
+        v3 ^= v2;
+        v0 += v3;
+        v3 = Long.rotateLeft(v3, 21);
+        v3 ^= v0;
+        v2 += v1;
+        v1 = Long.rotateLeft(v1, 17);
+        v1 ^= v2;
+        v2 = Long.rotateLeft(v2, 32);
+    }
+}
@@ -0,0 +1,56 @@
+package Map.Hashmap;
+
+/**
+ * Receives cache events (hits, misses, loads, evictions).
+ * Caches call it on their hot path, so implementations must be cheap;
+ * {@link #disabled()} does nothing at all.
+ */
+public interface StatsCounter {
+
+    void recordHit(Object key);
+
+    void recordMiss(Object key);
+
+    void recordLoadSuccess(long loadTimeNanos);
+
+    void recordLoadFailure(long loadTimeNanos);
+
+    // 🔹 weight = 1 for count-bounded caches, the entry's weight for WeightedLRUCache
+    void recordEviction(int weight);
+
+    CacheStats snapshot();
+
+    // 🔹 No-op counter: the default, so caches without stats pay (almost) nothing
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+
+    enum DisabledStatsCounter implements StatsCounter {
+        INSTANCE;
+
+        @Override
+        public void recordHit(Object key) {
+        }
+
+        @Override
+        public void recordMiss(Object key) {
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTimeNanos) {
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTimeNanos) {
+        }
+
+        @Override
+        public void recordEviction(int weight) {
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return CacheStats.EMPTY;
+        }
+    }
+}
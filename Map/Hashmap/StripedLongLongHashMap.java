@@ -0,0 +1,123 @@
+package Map.Hashmap;
+
+import java.util.stream.IntStream;
+
+/**
+ * Thread-safe counter map made of several {@link LongLongHashMap} stripes, each
+ * guarded by its own lock. A key always goes to the same stripe, so threads
+ * counting different keys rarely wait for each other and nothing is allocated per update.
+ */
+public class StripedLongLongHashMap {
+
+    private final LongLongHashMap[] stripes;
+    private final int stripeBits;
+
+    public StripedLongLongHashMap() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public StripedLongLongHashMap(int concurrencyLevel) {
+        int bits = 0;
+        while ((1 << bits) < concurrencyLevel && bits < 16) {
+            bits++;
+        }
+        this.stripeBits = bits;
+        this.stripes = new LongLongHashMap[1 << bits];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LongLongHashMap();
+        }
+    }
+
+    // 🔹 Stripe from the HIGH hash bits; each stripe's table uses the LOW bits
+    private LongLongHashMap stripeFor(long key) {
+        return stripeBits == 0 ? stripes[0] : stripes[LongLongHashMap.hash(key) >>> (32 - stripeBits)];
+    }
+
+    public long addTo(long key, long delta) {
+        LongLongHashMap stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.addTo(key, delta);
+        }
+    }
+
+    public long increment(long key) {
+        return addTo(key, 1L);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        LongLongHashMap stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.getOrDefault(key, defaultValue);
+        }
+    }
+
+    public long get(long key) {
+        return getOrDefault(key, 0L);
+    }
+
+    public long remove(long key) {
+        LongLongHashMap stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (LongLongHashMap stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    // 🔹 Sum of all values (each stripe is locked only while it is read)
+    public long sum() {
+        long total = 0;
+        for (LongLongHashMap stripe : stripes) {
+            synchronized (stripe) {
+                long[] stripeSum = new long[1];
+                stripe.forEach((k, v) -> stripeSum[0] += v);
+                total += stripeSum[0];
+            }
+        }
+        return total;
+    }
+
+    // 🔹 Copy into a plain LongLongHashMap (stripe by stripe, not one atomic snapshot)
+    public LongLongHashMap snapshot() {
+        LongLongHashMap copy = new LongLongHashMap(size());
+        for (LongLongHashMap stripe : stripes) {
+            synchronized (stripe) {
+                stripe.forEach(copy::put);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    public static void main(String[] args) {
+        // Same idea as ParallelStreamsDemo's merge(name, 1, Integer::sum), without boxing
+        StripedLongLongHashMap hitsPerPage = new StripedLongLongHashMap();
+        IntStream.range(0, 1_000_000).parallel().forEach(i -> hitsPerPage.increment(i % 10));
+
+        System.out.println("Hits per page: " + hitsPerPage);
+        System.out.println("Total hits: " + hitsPerPage.sum());
+    }
+}
+
+/*
+ * 🚀 Striped Counters 🚀
+ *
+ * 🔹 One lock for the whole map → every thread waits for every other thread.
+ * 🔹 Striping → N small maps, N locks; a key is always in the same stripe.
+ * - Threads updating keys in different stripes run in parallel.
+ * - Inside a stripe: LongLongHashMap.addTo → no boxing, no allocation.
+ *
+ * ✅ Stripes help when MANY keys are updated; one very hot key still hits one lock.
+ */
@@ -0,0 +1,445 @@
+package Map.Hashmap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link Map} implemented as a "Swiss table": next to the key/value arrays there is a
+ * control byte per slot holding 7 bits of the key's hash. Lookups scan 8 control bytes
+ * at once (one {@code long}, SWAR bit tricks) and only compare keys whose fingerprint
+ * matches, so most probes touch a single cache line. Same semantics as {@link HashMap}:
+ * null keys and values are allowed. Not thread-safe.
+ */
+public class SwissMap<K, V> extends AbstractMap<K, V> {
+
+    // 🔹 Control byte values: EMPTY and DELETED have the high bit set, FULL = 0..127 (hash bits)
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final int GROUP = 8;
+
+    private static final long LSB = 0x0101_0101_0101_0101L;
+    private static final long MSB = 0x8080_8080_8080_8080L;
+
+    // Reads 8 control bytes as one little-endian long (byte i → bits 8i..8i+7)
+    private static final VarHandle GROUP_WORD =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] ctrl;
+    private Object[] keys;
+    private Object[] values;
+    private int groupMask;
+    private int size;
+    private int growthLeft;    // EMPTY slots we may still fill before rehashing (7/8 max load)
+    private int modCount;
+
+    public SwissMap() {
+        this(16);
+    }
+
+    public SwissMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    // 🔹 Power of two, at least one group, filled to at most 7/8
+    static int capacityFor(int expectedSize) {
+        long needed = Math.max(GROUP, (long) expectedSize * 8 / 7 + 1);
+        if (needed > (1 << 30)) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        ctrl = new byte[capacity];
+        Arrays.fill(ctrl, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        groupMask = capacity / GROUP - 1;
+        growthLeft = capacity - capacity / 8;
+    }
+
+    static int hash(Object key) {
+        int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    // 🔹 H1 (upper bits) picks the first group, H2 (low 7 bits) is the fingerprint
+    private static int h1(int hash) {
+        return hash >>> 7;
+    }
+
+    private static byte h2(int hash) {
+        return (byte) (hash & 0x7F);
+    }
+
+    private long group(int groupIndex) {
+        return (long) GROUP_WORD.get(ctrl, groupIndex * GROUP);
+    }
+
+    // High bit set in every byte equal to b (rare false positives are filtered by equals())
+    private static long matchByte(long word, byte b) {
+        long x = word ^ (LSB * (b & 0xFF));
+        return (x - LSB) & ~x & MSB;
+    }
+
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSB;
+    }
+
+    private static long matchEmptyOrDeleted(long word) {
+        return word & (~word << 7) & MSB;
+    }
+
+    // Slot index of key, or -1
+    private int find(Object key, int hash) {
+        byte fingerprint = h2(hash);
+        int g = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = group(g);
+            for (long match = matchByte(word, fingerprint); match != 0; match &= match - 1) {
+                int slot = g * GROUP + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (Objects.equals(keys[slot], key)) {
+                    return slot;
+                }
+            }
+            // An EMPTY byte ends the probe sequence: the key was never placed further on
+            if (matchEmpty(word) != 0 || step > groupMask) {
+                return -1;
+            }
+            g = (g + step) & groupMask; // triangular probing visits every group once
+        }
+    }
+
+    private int findInsertSlot(int hash) {
+        int g = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long match = matchEmptyOrDeleted(group(g));
+            if (match != 0) {
+                return g * GROUP + (Long.numberOfTrailingZeros(match) >>> 3);
+            }
+            g = (g + step) & groupMask;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+        if (growthLeft == 0) {
+            // Grow if really full, otherwise just rehash to clear out DELETED markers
+            rehash(size + 1 > (ctrl.length - ctrl.length / 8) / 2 ? ctrl.length * 2 : ctrl.length);
+        }
+        slot = findInsertSlot(hash);
+        if (ctrl[slot] == EMPTY) {
+            growthLeft--;
+        }
+        ctrl[slot] = h2(hash);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    // One rehash into enough groups for expectedSize entries at 7/8 fill
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > ctrl.length) {
+            rehash(capacity);
+        }
+    }
+
+    public void putAll(K[] keys, V[] values) {
+        BulkLoad.checkLengths(keys.length, values.length);
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int slot = find(key, hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        V old = (V) values[slot];
+        removeSlot(slot);
+        return old;
+    }
+
+    private void removeSlot(int slot) {
+        // If the group still has an EMPTY byte, no probe ever passed through it → mark EMPTY
+        if (matchEmpty(group(slot / GROUP)) != 0) {
+            ctrl[slot] = EMPTY;
+            growthLeft++;
+        } else {
+            ctrl[slot] = DELETED;
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        modCount++;
+    }
+
+    private void rehash(int newCapacity) {
+        byte[] oldCtrl = ctrl;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCtrl.length; i++) {
+            if (oldCtrl[i] >= 0) { // FULL
+                int hash = hash(oldKeys[i]);
+                int slot = findInsertSlot(hash);
+                ctrl[slot] = h2(hash);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            allocate(ctrl.length);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                SwissMap.this.clear();
+            }
+        };
+    }
+
+    // 🔹 Walks the control bytes; remove() only marks the slot, so iteration stays valid
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int advance(int from) {
+            while (from < ctrl.length && ctrl[from] < 0) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < ctrl.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    // Entry that writes setValue() straight into the values array
+    private final class SlotEntry implements Map.Entry<K, V> {
+        private final int slot;
+        private final K key;
+
+        @SuppressWarnings("unchecked")
+        SlotEntry(int slot) {
+            this.slot = slot;
+            this.key = (K) keys[slot];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) values[slot];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same steps as HashMapDemo
+        Map<Integer, String> map = new SwissMap<>();
+        map.put(1, "Shreya");
+        map.put(2, "Neha");
+        map.put(3, "Akshit");
+        System.out.println("SwissMap: " + map);
+        System.out.println("Value for key 3: " + map.get(3));
+        System.out.println("Value for key 6: " + map.get(6));
+        System.out.println("Contains key 2? " + map.containsKey(2));
+        System.out.println("Contains value 'Shreya'? " + map.containsValue("Shreya"));
+
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            entry.setValue(entry.getValue().toUpperCase());
+        }
+        System.out.println(map);
+        System.out.println("REMOVED ? :" + map.remove(31, "Nitin"));
+
+        // 🔸 Null key and null value, like HashMap
+        map.put(null, "no key");
+        map.put(4, null);
+        System.out.println("get(null) = " + map.get(null) + ", containsKey(4) = " + map.containsKey(4));
+
+        // 🔸 Quick lookup timing against HashMap
+        int n = 1_000_000;
+        Map<String, Integer> swiss = new SwissMap<>(n);
+        Map<String, Integer> hash = new HashMap<>(n * 2);
+        String[] words = new String[n];
+        for (int i = 0; i < n; i++) {
+            words[i] = "key-" + i;
+            swiss.put(words[i], i);
+            hash.put(words[i], i);
+        }
+        time(swiss, words); // warm-up (JIT)
+        time(hash, words);
+        System.out.println("SwissMap lookups: " + time(swiss, words) + " ms");
+        System.out.println("HashMap  lookups: " + time(hash, words) + " ms");
+    }
+
+    private static long time(Map<String, Integer> map, String[] words) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int round = 0; round < 3; round++) {
+            for (String w : words) {
+                sum += map.get(w);
+            }
+        }
+        if (sum == 42) {
+            System.out.println(); // keeps the JIT from removing the loop
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
+
+/*
+ * 🚀 Swiss Table (SwissMap) 🚀
+ *
+ * 🔹 Layout:
+ * ctrl[]   → 1 byte per slot: EMPTY / DELETED / 7-bit fingerprint of the hash
+ * keys[]   → keys
+ * values[] → values
+ *
+ * 🔹 Lookup:
+ * - Upper hash bits (H1) pick a GROUP of 8 slots.
+ * - The 8 control bytes are read as ONE long and compared with the fingerprint (H2)
+ * in a few bit operations (SWAR = "SIMD within a register").
+ * - Only slots whose fingerprint matches are compared with equals() → ~1 key compare.
+ * - A group containing an EMPTY byte ends the search.
+ *
+ * 🔹 vs HashMap:
+ * - HashMap: table → Node → next Node ... (pointer chasing, cache misses).
+ * - SwissMap: flat arrays, no nodes, 7/8 load factor.
+ *
+ * ✅ Real implementations use SSE2/NEON (16 bytes at a time); the long-based version
+ * works on any JVM without extra modules.
+ */
@@ -0,0 +1,212 @@
+package Map.Hashmap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel that schedules cache entries by their expiration time.
+ * Scheduling, rescheduling and cancelling are O(1); {@link #advance(long)} only visits
+ * the buckets whose time span has passed, so expiration never scans the whole cache.
+ * Not thread-safe: the owning cache guards it with its own lock.
+ */
+public class TimerWheel<K, V> {
+
+    // 🔹 Bucket counts per level and the time span (in ns) one bucket of that level covers
+    static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+    static final long[] SPANS = {
+            1L << 30, // 1.07 s
+            1L << 36, // 1.14 min
+            1L << 42, // 1.22 h
+            1L << 46, // 0.81 days
+            1L << 50, // 13 days
+            1L << 50  // everything further away
+    };
+    static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    // 🔹 Entry scheduled on the wheel (doubly linked into one bucket at a time)
+    public static class Node<K, V> {
+        final K key;
+        V value;
+        long expiresAt;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        boolean isLinked() {
+            return next != null;
+        }
+    }
+
+    private final Node<K, V>[][] wheel;
+    // Entries found expired by advance(), waiting to be reclaimed by the cache
+    private final Node<K, V> expired = sentinel();
+    private long nanos;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startNanos) {
+        this.nanos = startNanos;
+        this.wheel = (Node<K, V>[][]) new Node<?, ?>[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = (Node<K, V>[]) new Node<?, ?>[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = sentinel();
+            }
+        }
+    }
+
+    private static <K, V> Node<K, V> sentinel() {
+        Node<K, V> s = new Node<>(null, null);
+        s.prev = s;
+        s.next = s;
+        return s;
+    }
+
+    public void schedule(Node<K, V> node) {
+        link(findBucket(node.expiresAt), node);
+    }
+
+    public void reschedule(Node<K, V> node) {
+        deschedule(node);
+        schedule(node);
+    }
+
+    public void deschedule(Node<K, V> node) {
+        if (node.isLinked()) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    // 🔹 Pick the level whose span covers the delay, then the bucket by time ticks
+    private Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    /**
+     * Moves the wheel to {@code currentNanos}. Every bucket that passed is emptied:
+     * expired entries go to the expired list, the rest cascade to a lower level.
+     */
+    public void advance(long currentNanos) {
+        long previousNanos = nanos;
+        nanos = currentNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousNanos >>> SHIFT[i];
+            long currentTicks = currentNanos >>> SHIFT[i];
+            if (currentTicks - previousTicks <= 0L) {
+                break; // higher levels tick even more slowly
+            }
+            expire(i, previousTicks, currentTicks - previousTicks);
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta) {
+        Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                if (node.expiresAt - nanos <= 0L) {
+                    link(expired, node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    // 🔹 Removes and returns one expired entry, or null if none is waiting
+    public Node<K, V> pollExpired() {
+        Node<K, V> node = expired.next;
+        if (node == expired) {
+            return null;
+        }
+        deschedule(node);
+        return node;
+    }
+
+    private static <K, V> void link(Node<K, V> sentinel, Node<K, V> node) {
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    public static void main(String[] args) {
+        long start = 0L;
+        TimerWheel<String, String> timerWheel = new TimerWheel<>(start);
+
+        String[] keys = { "2s", "90s", "2h" };
+        long[] delays = { TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(90), TimeUnit.HOURS.toNanos(2) };
+        for (int i = 0; i < keys.length; i++) {
+            Node<String, String> node = new Node<>(keys[i], "value");
+            node.expiresAt = start + delays[i];
+            timerWheel.schedule(node);
+        }
+
+        long[] checkpoints = { TimeUnit.SECONDS.toNanos(5), TimeUnit.MINUTES.toNanos(3), TimeUnit.HOURS.toNanos(3) };
+        for (long now : checkpoints) {
+            timerWheel.advance(now);
+            for (Node<String, String> n = timerWheel.pollExpired(); n != null; n = timerWheel.pollExpired()) {
+                System.out.println("At " + TimeUnit.NANOSECONDS.toSeconds(now) + "s expired: " + n.getKey());
+            }
+        }
+    }
+}
+
+/*
+ * 🚀 Hierarchical Timing Wheel 🚀
+ *
+ * 🔹 Idea (like a clock with second/minute/hour hands):
+ * - Level 0: 64 buckets of ~1 s, Level 1: 64 buckets of ~1 min, Level 2: 32 buckets of ~1 h ...
+ * - An entry goes into the bucket of the coarsest level that still fits its delay.
+ *
+ * 🔹 advance(now):
+ * - Only buckets whose time slot has passed are visited.
+ * - Entries already expired → moved to the "expired" list.
+ * - Entries not yet expired → re-scheduled into a finer level (cascading).
+ *
+ * ✅ schedule / reschedule / deschedule → O(1) (linked list insert/unlink)
+ * ✅ No per-entry DelayQueue nodes, no scanning the whole map.
+ */
@@ -0,0 +1,17 @@
+package Map.Hashmap;
+
+/**
+ * Computes the cost ("weight") of a cache entry, e.g. its size in bytes.
+ * Used by {@link WeightedLRUCache} instead of counting entries.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    // 🔹 Must be >= 0 and must not change while the entry is cached
+    int weigh(K key, V value);
+
+    // 🔹 Every entry weighs 1 → the bound becomes a plain entry count (like LRUCache)
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
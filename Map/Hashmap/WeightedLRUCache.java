@@ -0,0 +1,162 @@
+package Map.Hashmap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache bounded by the total weight of its entries instead of their count.
+ * Each entry's weight is computed once by a {@link Weigher} and remembered, so
+ * put/replace/remove update the running total in O(1).
+ * Like {@link LRUCache} it is not thread-safe on its own.
+ */
+public class WeightedLRUCache<K, V> {
+
+    // 🔹 Value + its weight, so removal never has to call the weigher again
+    private static final class Weighted<V> {
+        final V value;
+        final int weight;
+
+        Weighted(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final LinkedHashMap<K, Weighted<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maximumWeight;
+    private final StatsCounter stats;
+    private long totalWeight;
+
+    public WeightedLRUCache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, weigher, StatsCounter.disabled());
+    }
+
+    public WeightedLRUCache(long maximumWeight, Weigher<? super K, ? super V> weigher, StatsCounter stats) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight must not be negative");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.stats = stats;
+    }
+
+    public V get(K key) {
+        Weighted<V> w = map.get(key); // moves the entry to the most recently used end
+        if (w == null) {
+            stats.recordMiss(key);
+            return null;
+        }
+        stats.recordHit(key);
+        return w.value;
+    }
+
+    public V put(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        Weighted<V> old = map.put(key, new Weighted<>(value, weight));
+        // 🔹 Replace = subtract old weight, add new weight
+        totalWeight += weight - (old == null ? 0 : old.weight);
+        evict();
+        return old == null ? null : old.value;
+    }
+
+    public V remove(K key) {
+        Weighted<V> old = map.remove(key);
+        if (old == null) {
+            return null;
+        }
+        totalWeight -= old.weight;
+        return old.value;
+    }
+
+    // 🔹 Remove least recently used entries until the total weight fits again
+    private void evict() {
+        Iterator<Map.Entry<K, Weighted<V>>> it = map.entrySet().iterator();
+        while (totalWeight > maximumWeight && it.hasNext()) {
+            Map.Entry<K, Weighted<V>> eldest = it.next();
+            totalWeight -= eldest.getValue().weight;
+            it.remove();
+            stats.recordEviction(eldest.getValue().weight);
+        }
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    public void clear() {
+        map.clear();
+        totalWeight = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<K, Weighted<V>> e : map.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(e.getKey()).append('=').append(e.getValue().value);
+        }
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        // Cache of "images" limited to 1,000 bytes in total
+        WeightedLRUCache<String, byte[]> images =
+                new WeightedLRUCache<>(1_000, (name, bytes) -> bytes.length);
+
+        images.put("logo", new byte[100]);
+        images.put("banner", new byte[600]);
+        images.put("icon", new byte[50]);
+        System.out.println("Entries: " + images.size() + ", weight: " + images.weightedSize());
+
+        images.get("logo");                      // logo is now most recently used
+        images.put("photo", new byte[400]);      // 1,150 > 1,000 → banner (LRU) is evicted
+        System.out.println("Has banner? " + images.containsKey("banner"));
+        System.out.println("Entries: " + images.size() + ", weight: " + images.weightedSize());
+
+        images.put("logo", new byte[10]);        // replace: weight drops by 90
+        System.out.println("After replacing logo, weight: " + images.weightedSize());
+
+        images.put("huge", new byte[5_000]);     // heavier than the whole cache → nothing fits
+        System.out.println("After huge put, entries: " + images.size() + ", weight: " + images.weightedSize());
+    }
+}
+
+/*
+ * 🚀 Weight-Bounded Cache 🚀
+ *
+ * 🔹 Why?
+ * - LRUCache limits the NUMBER of entries (size() > capacity).
+ * - If values are 10 bytes or 10 MB, a count says nothing about memory.
+ *
+ * 🔹 How?
+ * - A Weigher gives each entry a cost (e.g. bytes).
+ * - The cache keeps a running total:
+ * put → total += newWeight - oldWeight
+ * remove → total -= weight
+ * - While total > maximumWeight → remove the least recently used entry.
+ *
+ * ✅ Weigher.singleton() makes every entry weigh 1 → same as LRUCache(capacity).
+ */
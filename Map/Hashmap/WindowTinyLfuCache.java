@@ -0,0 +1,263 @@
+package Map.Hashmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Scan-resistant bounded cache using the Window-TinyLFU policy.
+ * New entries enter a small LRU window; when they leave it they must beat the
+ * main region's LRU victim on estimated frequency (see {@link FrequencySketch}) to stay.
+ * Like {@link LRUCache} it is not thread-safe on its own.
+ */
+public class WindowTinyLfuCache<K, V> extends AbstractMap<K, V> {
+
+    private final int capacity;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+
+    // 🔹 Three LRU regions: window → probation → protected
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedRegion = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch<K> sketch;
+
+    public WindowTinyLfuCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        // Window = 1% of the cache, protected = 80% of the main region
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (int) ((capacity - windowCapacity) * 0.8);
+        this.sketch = new FrequencySketch<>(capacity);
+    }
+
+    @Override
+    public V get(Object key) {
+        @SuppressWarnings("unchecked")
+        K k = (K) key;
+        if (window.containsKey(k)) {
+            sketch.increment(k);
+            return window.get(k);
+        }
+        if (protectedRegion.containsKey(k)) {
+            sketch.increment(k);
+            return protectedRegion.get(k);
+        }
+        if (probation.containsKey(k)) {
+            sketch.increment(k);
+            // 🔹 Second hit in the main region → promote to protected
+            V value = probation.remove(k);
+            protectedRegion.put(k, value);
+            demoteProtectedOverflow();
+            return value;
+        }
+        // Misses count too: a key that keeps being asked for is worth admitting
+        sketch.increment(k);
+        return null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (window.containsKey(key)) {
+            return window.put(key, value);
+        }
+        if (protectedRegion.containsKey(key)) {
+            return protectedRegion.put(key, value);
+        }
+        if (probation.containsKey(key)) {
+            return probation.put(key, value);
+        }
+        sketch.increment(key);
+        window.put(key, value);
+        evict();
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (window.containsKey(key)) {
+            return window.remove(key);
+        }
+        if (protectedRegion.containsKey(key)) {
+            return protectedRegion.remove(key);
+        }
+        return probation.remove(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return window.containsKey(key) || protectedRegion.containsKey(key) || probation.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedRegion.size();
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // 🔹 Window overflow: its LRU entry (candidate) competes with the main LRU entry (victim)
+    private void evict() {
+        while (window.size() > windowCapacity) {
+            Map.Entry<K, V> candidate = eldest(window);
+            window.remove(candidate.getKey());
+
+            if (size() < capacity) {
+                probation.put(candidate.getKey(), candidate.getValue());
+                continue;
+            }
+
+            Map.Entry<K, V> victim = !probation.isEmpty() ? eldest(probation)
+                    : !protectedRegion.isEmpty() ? eldest(protectedRegion) : null;
+            if (victim == null) {
+                onEviction(candidate.getKey(), candidate.getValue()); // no main region (tiny cache)
+                continue;
+            }
+            // Admission: the more frequent one stays (ties favour the resident victim)
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                probation.remove(victim.getKey());
+                protectedRegion.remove(victim.getKey());
+                probation.put(candidate.getKey(), candidate.getValue());
+                onEviction(victim.getKey(), victim.getValue());
+            } else {
+                onEviction(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    // 🔹 Hook called for every entry the policy drops (like LinkedHashMap.removeEldestEntry)
+    protected void onEviction(K key, V value) {
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedRegion.size() > protectedCapacity) {
+            Map.Entry<K, V> eldest = eldest(protectedRegion);
+            protectedRegion.remove(eldest.getKey());
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static <K, V> Map.Entry<K, V> eldest(LinkedHashMap<K, V> map) {
+        Map.Entry<K, V> e = map.entrySet().iterator().next();
+        return new SimpleImmutableEntry<>(e.getKey(), e.getValue());
+    }
+
+    // 🔹 View over all three regions (iteration does not change LRU order)
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    @SuppressWarnings("unchecked")
+                    private final Iterator<Map.Entry<K, V>>[] parts = (Iterator<Map.Entry<K, V>>[]) new Iterator<?>[] {
+                            window.entrySet().iterator(),
+                            probation.entrySet().iterator(),
+                            protectedRegion.entrySet().iterator()
+                    };
+                    private int current;
+                    private Iterator<Map.Entry<K, V>> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (current < parts.length && !parts[current].hasNext()) {
+                            current++;
+                        }
+                        return current < parts.length;
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        last = parts[current];
+                        return last.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        last.remove();
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return WindowTinyLfuCache.this.size();
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        int capacity = 100;
+        Map<Integer, Integer> lru = new LRUCache<>(capacity);
+        Map<Integer, Integer> tinyLfu = new WindowTinyLfuCache<>(capacity);
+
+        // Workload: 50 hot keys read again and again, mixed with one-off scan keys (30,000 in total)
+        int[] hits = new int[2];
+        int scanKey = 1_000;
+        int requests = 0;
+        for (int round = 0; round < 200; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                requests++;
+                if (access(lru, hot)) hits[0]++;
+                if (access(tinyLfu, hot)) hits[1]++;
+            }
+            for (int i = 0; i < 150; i++, scanKey++) {
+                access(lru, scanKey);
+                access(tinyLfu, scanKey);
+            }
+        }
+
+        System.out.printf("Hot-key hit rate  LRU: %.1f%%%n", 100.0 * hits[0] / requests);
+        System.out.printf("Hot-key hit rate  W-TinyLFU: %.1f%%%n", 100.0 * hits[1] / requests);
+        System.out.println("Sizes: " + lru.size() + " / " + tinyLfu.size());
+    }
+
+    private static boolean access(Map<Integer, Integer> cache, int key) {
+        if (cache.get(key) != null) {
+            return true;
+        }
+        cache.put(key, key);
+        return false;
+    }
+}
+
+/*
+ * 🚀 Window-TinyLFU 🚀
+ *
+ * 🔹 Problem with plain LRU:
+ * - A scan (many keys read only once) pushes out every hot key.
+ *
+ * 🔹 Layout:
+ * WINDOW (1%, LRU) → PROBATION (main, LRU) ⇄ PROTECTED (80% of main, LRU)
+ *
+ * 🔹 Admission:
+ * - New keys always enter the window (so bursts still get a chance).
+ * - When the window overflows, its oldest key (candidate) is compared with
+ * the main region's oldest key (victim) using the FrequencySketch.
+ * - Higher frequency wins, the other one is evicted.
+ *
+ * 🔹 Memory:
+ * - The sketch costs ~8 bytes per entry, no extra per-entry object.
+ */
@@ -0,0 +1,811 @@
+package Map.Hashtable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe replacement for {@link Hashtable} with the same API and rules (no null keys
+ * or values → NullPointerException, {@link Enumeration} views via keys()/elements()),
+ * but without one lock for the whole table. Keys are spread over {@value #STRIPES}
+ * stripes, each with its own {@link StampedLock}:
+ * <ul>
+ *   <li>reads (get, containsKey, containsValue, iteration) use optimistic stamps —
+ *   no lock is taken unless a writer changed that stripe meanwhile;</li>
+ *   <li>writes lock only the stripe of their key.</li>
+ * </ul>
+ * Unlike Hashtable, size() and the views are not one atomic snapshot of ALL stripes:
+ * iterators are weakly consistent (like ConcurrentHashMap's) and never throw
+ * ConcurrentModificationException. compute/merge/putIfAbsent are atomic per key; their
+ * functions run under the stripe's (non-reentrant) lock and must not modify this table.
+ * Like Hashtable it is {@link Cloneable} (shallow copy) and {@link Serializable}; both
+ * copy one stripe at a time, so they are not atomic across stripes either.
+ */
+public class StripedHashtable<K, V> extends Dictionary<K, V> implements Map<K, V>, Cloneable, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int STRIPES = 16;
+    private static final int STRIPE_SHIFT = 32 - Integer.numberOfTrailingZeros(STRIPES);
+
+    // 🔸 next always points to an OLDER node (head inserts, unlink, copy on resize) →
+    // an optimistic reader racing with a writer can never walk into a cycle
+    static final class Node<K, V> {
+        final int hash;
+        final K key;
+        V value;
+        Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    static final class Stripe<K, V> {
+        final StampedLock lock = new StampedLock();
+        Node<K, V>[] table;
+        volatile int count;
+
+        Stripe(int capacity) {
+            table = newTable(capacity);
+        }
+
+        // Caller holds a stamp (optimistic or read) or the write lock
+        V find(int hash, Object key) {
+            Node<K, V>[] tab = table;
+            for (Node<K, V> n = tab[hash & (tab.length - 1)]; n != null; n = n.next) {
+                if (n.hash == hash && n.key.equals(key)) {
+                    return n.value;
+                }
+            }
+            return null;
+        }
+
+        boolean hasValue(Object value) {
+            for (Node<K, V> head : table) {
+                for (Node<K, V> n = head; n != null; n = n.next) {
+                    if (value.equals(n.value)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // 🔹 Under the write lock: the single place where mappings are added, changed or removed
+        V compute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> function) {
+            Node<K, V>[] tab = table;
+            int index = hash & (tab.length - 1);
+            Node<K, V> prev = null;
+            Node<K, V> n = tab[index];
+            while (n != null && !(n.hash == hash && n.key.equals(key))) {
+                prev = n;
+                n = n.next;
+            }
+            V old = n == null ? null : n.value;
+            V value = function.apply(key, old);
+            if (value == null) {
+                if (n != null) {
+                    if (prev == null) {
+                        tab[index] = n.next;
+                    } else {
+                        prev.next = n.next;
+                    }
+                    count--;
+                }
+            } else if (n != null) {
+                n.value = value;
+            } else {
+                tab[index] = new Node<>(hash, key, value, tab[index]);
+                if (++count > tab.length * 3 / 4) {
+                    grow();
+                }
+            }
+            return value;
+        }
+
+        // Copies the nodes instead of relinking them, see the note on Node
+        private void grow() {
+            Node<K, V>[] old = table;
+            Node<K, V>[] tab = newTable(old.length * 2);
+            for (Node<K, V> head : old) {
+                for (Node<K, V> n = head; n != null; n = n.next) {
+                    int index = n.hash & (tab.length - 1);
+                    tab[index] = new Node<>(n.hash, n.key, n.value, tab[index]);
+                }
+            }
+            table = tab;
+        }
+
+        void clear() {
+            table = newTable(table.length);
+            count = 0;
+        }
+
+        // Same nodes in a fresh table (keys and values are shared, like Hashtable.clone())
+        Stripe<K, V> copy() {
+            Stripe<K, V> copy = new Stripe<>(table.length);
+            for (Node<K, V> head : table) {
+                for (Node<K, V> n = head; n != null; n = n.next) {
+                    int index = n.hash & (copy.table.length - 1);
+                    copy.table[index] = new Node<>(n.hash, n.key, n.value, copy.table[index]);
+                }
+            }
+            copy.count = count;
+            return copy;
+        }
+
+        List<Map.Entry<K, V>> snapshot() {
+            List<Map.Entry<K, V>> entries = new ArrayList<>();
+            for (Node<K, V> head : table) {
+                for (Node<K, V> n = head; n != null; n = n.next) {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(n.key, n.value));
+                }
+            }
+            return entries;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V>[] newTable(int capacity) {
+        return (Node<K, V>[]) new Node<?, ?>[capacity];
+    }
+
+    // Not final: clone() and readObject() install their own stripes
+    private transient Stripe<K, V>[] stripes;
+
+    public StripedHashtable() {
+        this(11 * STRIPES);
+    }
+
+    public StripedHashtable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        initStripes(initialCapacity);
+    }
+
+    private void initStripes(int initialCapacity) {
+        int perStripe = Integer.highestOneBit(Math.max(2, initialCapacity / STRIPES) * 2 - 1);
+        stripes = newStripes();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>(perStripe);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Stripe<K, V>[] newStripes() {
+        return (Stripe<K, V>[]) new Stripe<?, ?>[STRIPES];
+    }
+
+    public StripedHashtable(Map<? extends K, ? extends V> map) {
+        this(Math.max(2 * map.size(), 11));
+        putAll(map);
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode(); // NullPointerException for null, like Hashtable
+        return h ^ (h >>> 16);
+    }
+
+    // High bits pick the stripe, low bits the bucket inside it
+    private Stripe<K, V> stripeFor(int hash) {
+        return stripes[(hash * 0x9E3779B9) >>> STRIPE_SHIFT];
+    }
+
+    // 🔹 Optimistic read: no lock word is written, so readers do not slow each other down
+    @Override
+    public V get(Object key) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = stripeFor(hash);
+        StampedLock lock = stripe.lock;
+        long stamp = lock.tryOptimisticRead();
+        V value = stripe.find(hash, key);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        // A writer touched this stripe meanwhile → read again under the (shared) read lock
+        stamp = lock.readLock();
+        try {
+            return stripe.find(hash, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Objects.requireNonNull(value);
+        for (Stripe<K, V> stripe : stripes) {
+            StampedLock lock = stripe.lock;
+            long stamp = lock.tryOptimisticRead();
+            boolean found = stripe.hasValue(value);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    found = stripe.hasValue(value);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            if (found) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Legacy Hashtable name for containsValue()
+    public boolean contains(Object value) {
+        return containsValue(value);
+    }
+
+    private V write(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        int hash = hash(key);
+        Stripe<K, V> stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.compute(hash, key, function);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        Object[] old = new Object[1];
+        write(key, (k, v) -> {
+            old[0] = v;
+            return value;
+        });
+        return cast(old[0]);
+    }
+
+    @Override
+    public V remove(Object key) {
+        Object[] old = new Object[1];
+        write(cast(key), (k, v) -> {
+            old[0] = v;
+            return null;
+        });
+        return cast(old[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object o) {
+        return (T) o;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    // 🔹 Atomic per key (Hashtable makes them atomic with its single lock)
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        Object[] old = new Object[1];
+        write(key, (k, v) -> {
+            old[0] = v;
+            return v == null ? value : v;
+        });
+        return cast(old[0]);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Objects.requireNonNull(value);
+        boolean[] removed = new boolean[1];
+        write(cast(key), (k, v) -> {
+            removed[0] = value.equals(v);
+            return removed[0] ? null : v;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        boolean[] replaced = new boolean[1];
+        write(key, (k, v) -> {
+            replaced[0] = oldValue.equals(v);
+            return replaced[0] ? newValue : v;
+        });
+        return replaced[0];
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Object[] old = new Object[1];
+        write(key, (k, v) -> {
+            old[0] = v;
+            return v == null ? null : value;
+        });
+        return cast(old[0]);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(remapping);
+        return write(key, remapping);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        Objects.requireNonNull(mapping);
+        return write(key, (k, v) -> v != null ? v : mapping.apply(k));
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(remapping);
+        return write(key, (k, v) -> v == null ? null : remapping.apply(k, v));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remapping);
+        return write(key, (k, v) -> v == null ? value : remapping.apply(v, value));
+    }
+
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            sum += stripe.count;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Stripe<K, V> stripe : stripes) {
+            if (stripe.count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Shallow copy like {@link Hashtable#clone()}: keys and values are not cloned. Each
+     * stripe is copied under its write lock.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public StripedHashtable<K, V> clone() {
+        StripedHashtable<K, V> clone;
+        try {
+            clone = (StripedHashtable<K, V>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e); // we are Cloneable
+        }
+        clone.stripes = newStripes();
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe<K, V> stripe = stripes[i];
+            long stamp = stripe.lock.writeLock();
+            try {
+                clone.stripes[i] = stripe.copy();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        return clone;
+    }
+
+    // 🔹 Serialized form: mapping count, then key/value pairs (stripes and locks are rebuilt on read)
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        List<Map.Entry<K, V>> entries = new ArrayList<>();
+        for (Stripe<K, V> stripe : stripes) {
+            entries.addAll(snapshot(stripe));
+        }
+        out.defaultWriteObject();
+        out.writeInt(entries.size());
+        for (Map.Entry<K, V> e : entries) {
+            out.writeObject(e.getKey());
+            out.writeObject(e.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Illegal mappings count: " + count);
+        }
+        initStripes(Math.max(2 * Math.min(count, 1 << 24), 11)); // capped: count comes from the stream
+        for (int i = 0; i < count; i++) {
+            put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    // 🔹 Iteration copies one stripe at a time (optimistically) → readers never hold a lock while looping
+    private List<Map.Entry<K, V>> snapshot(Stripe<K, V> stripe) {
+        StampedLock lock = stripe.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            List<Map.Entry<K, V>> entries = stripe.snapshot();
+            if (lock.validate(stamp)) {
+                return entries;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return stripe.snapshot();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int stripe;
+        private Iterator<Map.Entry<K, V>> current = snapshot(stripes[0]).iterator();
+        private Map.Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && ++stripe < STRIPES) {
+                current = snapshot(stripes[stripe]).iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> e = current.next();
+            last = e;
+            return new AbstractMap.SimpleEntry<K, V>(e) {
+                @Override
+                public V setValue(V value) {
+                    put(getKey(), value); // write through to the table
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            StripedHashtable.this.remove(last.getKey());
+            last = null;
+        }
+    }
+
+    private static <T> Enumeration<T> enumeration(Iterator<T> iterator) {
+        return new Enumeration<T>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T nextElement() {
+                return iterator.next();
+            }
+        };
+    }
+
+    @Override
+    public Enumeration<K> keys() {
+        return enumeration(keySet().iterator());
+    }
+
+    @Override
+    public Enumeration<V> elements() {
+        return enumeration(values().iterator());
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Object value = e.getKey() == null ? null : get(e.getKey());
+                return value != null && value.equals(e.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                return e.getKey() != null && e.getValue() != null
+                        && StripedHashtable.this.remove(e.getKey(), e.getValue());
+            }
+
+            @Override
+            public int size() {
+                return StripedHashtable.this.size();
+            }
+
+            @Override
+            public void clear() {
+                StripedHashtable.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                Iterator<Map.Entry<K, V>> entries = new EntryIterator();
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return entries.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return StripedHashtable.this.remove(o) != null;
+            }
+
+            @Override
+            public int size() {
+                return StripedHashtable.this.size();
+            }
+
+            @Override
+            public void clear() {
+                StripedHashtable.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<Map.Entry<K, V>> entries = new EntryIterator();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return entries.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsValue(o);
+            }
+
+            @Override
+            public int size() {
+                return StripedHashtable.this.size();
+            }
+
+            @Override
+            public void clear() {
+                StripedHashtable.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        for (Map.Entry<K, V> e : entrySet()) {
+            if (!e.getValue().equals(other.get(e.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (Map.Entry<K, V> e : entrySet()) {
+            h += e.getKey().hashCode() ^ e.getValue().hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<K, V> e : entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // 🔸 Same code as HashtableDemo, only the constructor changed
+        Dictionary<Integer, String> table = new StripedHashtable<>();
+        table.put(1, "Java");
+        table.put(2, "Python");
+        table.put(3, "C++");
+        table.remove(3);
+        System.out.print("Enumeration:");
+        for (Enumeration<Integer> keys = table.keys(); keys.hasMoreElements(); ) {
+            Integer key = keys.nextElement();
+            System.out.print(" " + key + "=" + table.get(key));
+        }
+        System.out.println();
+        try {
+            table.put(5, null);
+        } catch (NullPointerException e) {
+            System.out.println("Null value rejected, like Hashtable");
+        }
+
+        // 🔸 Migration benchmark: 95% get, 4% put, 1% containsKey on the same workload
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 2; round++) { // round 0 = warm-up
+            long legacy = throughput(new Hashtable<>(), threads);
+            long striped = throughput(new StripedHashtable<>(), threads);
+            if (round == 1) {
+                System.out.printf("%d threads: Hashtable %,d ops/s, StripedHashtable %,d ops/s%n",
+                        threads, legacy, striped);
+            }
+        }
+    }
+
+    private static long throughput(Map<Integer, Integer> map, int threads) throws InterruptedException {
+        int keys = 100_000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        LongAdder ops = new LongAdder();
+        long end = System.nanoTime() + 500_000_000L;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while ((done & 1023) != 0 || System.nanoTime() < end) {
+                    int key = random.nextInt(keys);
+                    int op = random.nextInt(100);
+                    if (op < 95) {
+                        map.get(key);
+                    } else if (op < 99) {
+                        map.put(key, op);
+                    } else {
+                        map.containsKey(key);
+                    }
+                    done++;
+                }
+                ops.add(done);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 2; // 0.5 s run
+    }
+}
+
+/*
+ * 🚀 Striped Hashtable with StampedLock 🚀
+ *
+ * 🔹 java.util.Hashtable:
+ * - Every method is synchronized on the table → one thread at a time, even for get().
+ * - Iterating keySet() needs synchronized(table) { ... } to be safe → blocks all writers.
+ *
+ * 🔹 Striping:
+ * - 16 independent sub-tables (stripes), chosen by the key's hash.
+ * - put/remove lock only one stripe → up to 16 writers in parallel.
+ *
+ * 🔹 StampedLock optimistic read:
+ * - stamp = tryOptimisticRead() → just reads the lock's version, writes NOTHING.
+ * - read the data → validate(stamp): no writer in between? → done.
+ * - Otherwise fall back to readLock() (rare for read-heavy workloads).
+ * - Data must be safe to read while it changes: nodes are copied on resize,
+ * so a racing reader may see old data but never loops forever.
+ *
+ * 🔹 Drop-in compatible:
+ * - extends Dictionary, implements Map, Cloneable, Serializable → same types as Hashtable.
+ * - clone() copies stripe by stripe; serialization writes the pairs, not the locks.
+ * - null key/value → NullPointerException; keys()/elements() → Enumeration.
+ * - Difference: iterators are weakly consistent (no ConcurrentModificationException).
+ *
+ * ✅ Readers never block each other and rarely wait for writers.
+ */
@@ -0,0 +1,212 @@
+package Map.ImmutableMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only map for large static lookup tables. Keys and values are stored in one
+ * flat array, and a {@link PerfectHash} sends every key straight to its own slot,
+ * so a lookup is one hash + one probe + one equals(). Compared with
+ * {@code Collections.unmodifiableMap(new HashMap<>(...))} there are no Node objects:
+ * about 2 references + ~1 byte of seeds per entry. Null keys/values are not allowed.
+ */
+public final class CompactImmutableMap<K, V> extends AbstractMap<K, V> {
+
+    // [k0, v0, k1, v1, ...] with entry i at index 2*i
+    private final Object[] table;
+    private final PerfectHash perfectHash;
+    // 🔹 Keys whose hashCode() equals another key's hashCode() (rare) → scanned linearly
+    private final Object[] overflow;
+
+    private CompactImmutableMap(Object[] table, PerfectHash perfectHash, Object[] overflow) {
+        this.table = table;
+        this.perfectHash = perfectHash;
+        this.overflow = overflow;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    public static <K, V> CompactImmutableMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        Builder<K, V> builder = builder();
+        map.forEach(builder::put);
+        return builder.build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null || table.length == 0) {
+            return null;
+        }
+        int hashCode = key.hashCode();
+        int i = perfectHash.slot(PerfectHash.mix(hashCode)) << 1;
+        Object k = table[i];
+        if (k.equals(key)) {
+            return (V) table[i + 1];
+        }
+        // Only keys sharing a hashCode with a stored key can be in the overflow
+        if (overflow.length > 0 && k.hashCode() == hashCode) {
+            for (int j = 0; j < overflow.length; j += 2) {
+                if (overflow[j].equals(key)) {
+                    return (V) overflow[j + 1];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return (table.length + overflow.length) / 2;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < table.length + overflow.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Object[] array = index < table.length ? table : overflow;
+                        int i = index < table.length ? index : index - table.length;
+                        index += 2;
+                        return new SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactImmutableMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Collects entries, then builds the perfect hash once in {@link #build()}.
+     */
+    public static final class Builder<K, V> {
+        private final List<Object> entries = new ArrayList<>();
+
+        public Builder<K, V> put(K key, V value) {
+            entries.add(Objects.requireNonNull(key, "key"));
+            entries.add(Objects.requireNonNull(value, "value"));
+            return this;
+        }
+
+        public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            map.forEach(this::put);
+            return this;
+        }
+
+        public CompactImmutableMap<K, V> build() {
+            // 🔹 One representative per distinct hashCode goes into the perfect hash
+            Map<Integer, Object> byHash = new HashMap<>();
+            Map<Object, Object> all = new LinkedHashMap<>();
+            for (int i = 0; i < entries.size(); i += 2) {
+                Object key = entries.get(i);
+                if (all.put(key, entries.get(i + 1)) != null) {
+                    throw new IllegalArgumentException("duplicate key: " + key);
+                }
+                byHash.putIfAbsent(key.hashCode(), key);
+            }
+
+            long[] hashes = new long[byHash.size()];
+            int h = 0;
+            for (int hashCode : byHash.keySet()) {
+                hashes[h++] = PerfectHash.mix(hashCode);
+            }
+            PerfectHash perfectHash = PerfectHash.build(hashes);
+
+            Object[] table = new Object[hashes.length * 2];
+            List<Object> overflow = new ArrayList<>();
+            for (Map.Entry<Object, Object> e : all.entrySet()) {
+                Object key = e.getKey();
+                if (byHash.get(key.hashCode()) == key) {
+                    int i = perfectHash.slot(PerfectHash.mix(key.hashCode())) << 1;
+                    table[i] = key;
+                    table[i + 1] = e.getValue();
+                } else {
+                    overflow.add(key);
+                    overflow.add(e.getValue());
+                }
+            }
+            return new CompactImmutableMap<>(table, perfectHash, overflow.toArray());
+        }
+    }
+
+    public static void main(String[] args) {
+        CompactImmutableMap<String, Integer> fruits = CompactImmutableMap.<String, Integer>builder()
+                .put("Apple", 10)
+                .put("Banana", 20)
+                .put("Orange", 30)
+                .put("Aa", 1)     // "Aa" and "BB" have the same hashCode → overflow
+                .put("BB", 2)
+                .build();
+        System.out.println("CompactImmutableMap: " + fruits);
+        System.out.println("Banana → " + fruits.get("Banana") + ", BB → " + fruits.get("BB") + ", Kiwi → " + fruits.get("Kiwi"));
+
+        try {
+            fruits.put("Kiwi", 40);
+        } catch (UnsupportedOperationException e) {
+            System.out.println("Modification attempt → UnsupportedOperationException");
+        }
+
+        // 🔸 Large static table (e.g. loaded at startup)
+        int n = 1_000_000;
+        Map<String, Integer> source = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            source.put("code-" + i, i);
+        }
+        long start = System.nanoTime();
+        CompactImmutableMap<String, Integer> codes = CompactImmutableMap.copyOf(source);
+        System.out.println("Built " + codes.size() + " entries in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("code-777 → " + codes.get("code-777") + ", equals source? " + codes.equals(source));
+    }
+}
+
+/*
+ * 🚀 Perfect Hashing for Read-Only Maps 🚀
+ *
+ * 🔹 Normal HashMap:
+ * - Collisions → chains/trees → several probes, one Node (32+ bytes) per entry.
+ *
+ * 🔹 Minimal Perfect Hash (keys known in advance):
+ * - Every key gets its OWN slot 0..n-1 → no collisions, no empty slots.
+ * - How? Keys are split into small buckets; for each bucket we search a "seed"
+ * that places all its keys into free slots. Lookup: seed = seeds[bucket(key)],
+ * slot = hash(key, seed).
+ *
+ * 🔹 Memory per entry:
+ * - key + value reference in a flat array + ~1 byte of seeds.
+ *
+ * ❌ Cannot add/remove keys → rebuild the whole map (fine for static tables).
+ */
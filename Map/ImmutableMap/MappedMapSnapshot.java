@@ -0,0 +1,300 @@
+package Map.ImmutableMap;
+
+import Map.Hashmap.Serializer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map stored in a file. {@link #write} saves a map once (e.g. at build time);
+ * {@link #open} maps the file into memory and answers lookups directly from the mapped
+ * bytes — nothing is loaded or rebuilt at startup, only the entries actually read
+ * are deserialized. Lookups use a {@link PerfectHash} stored in the file.
+ *
+ * <pre>
+ * File layout (big-endian):
+ *   header  : magic "MMAP" | version | size | bucketCount      (4 ints)
+ *   seeds   : int[bucketCount]                                 (perfect hash)
+ *   offsets : long[size]   slot → file offset of its record
+ *   records : keyLength int | valueLength int | key bytes | value bytes
+ * </pre>
+ * Files are limited to 2 GB (one MappedByteBuffer). Safe for concurrent readers.
+ */
+public final class MappedMapSnapshot<K, V> extends AbstractMap<K, V> {
+
+    static final int MAGIC = 0x4D4D4150; // "MMAP"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final int size;
+    private final int bucketCount;
+    private final int offsetsStart;
+    private final int recordsStart;
+
+    private MappedMapSnapshot(ByteBuffer buffer, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a map snapshot file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported snapshot version " + version + " (expected " + VERSION + ")");
+        }
+        this.buffer = buffer;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.size = buffer.getInt(8);
+        this.bucketCount = buffer.getInt(12);
+        this.offsetsStart = HEADER_BYTES + bucketCount * Integer.BYTES;
+        this.recordsStart = offsetsStart + size * Long.BYTES;
+    }
+
+    /**
+     * Writes {@code map} to {@code file}. The file is written next to the target and
+     * then renamed, so readers never see a half-written snapshot.
+     */
+    public static <K, V> void write(Map<K, V> map, Path file,
+            Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        int n = map.size();
+        byte[][] keys = new byte[n][];
+        byte[][] values = new byte[n][];
+        long[] hashes = new long[n];
+        int i = 0;
+        for (Map.Entry<K, V> e : map.entrySet()) {
+            keys[i] = keySerializer.serialize(e.getKey());
+            values[i] = valueSerializer.serialize(e.getValue());
+            hashes[i] = hash(ByteBuffer.wrap(keys[i]), 0, keys[i].length);
+            i++;
+        }
+        // 🔹 Hash of the key BYTES (not hashCode()) → same slots in every JVM
+        PerfectHash perfectHash = PerfectHash.build(hashes);
+        int[] seeds = perfectHash.seeds();
+
+        // Records are written in slot order, so offsets just accumulate
+        int[] entryAtSlot = new int[n];
+        for (int e = 0; e < n; e++) {
+            entryAtSlot[perfectHash.slot(hashes[e])] = e;
+        }
+
+        long offset = HEADER_BYTES + (long) seeds.length * Integer.BYTES + (long) n * Long.BYTES;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(seeds.length);
+            for (int seed : seeds) {
+                out.writeInt(seed);
+            }
+            for (int slot = 0; slot < n; slot++) {
+                out.writeLong(offset);
+                int e = entryAtSlot[slot];
+                offset += 2 * Integer.BYTES + keys[e].length + values[e].length;
+            }
+            if (offset > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("snapshot larger than 2 GB: " + offset + " bytes");
+            }
+            for (int slot = 0; slot < n; slot++) {
+                int e = entryAtSlot[slot];
+                out.writeInt(keys[e].length);
+                out.writeInt(values[e].length);
+                out.write(keys[e]);
+                out.write(values[e]);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps {@code file} read-only. The mapping stays valid after the channel is closed.
+     */
+    public static <K, V> MappedMapSnapshot<K, V> open(Path file,
+            Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("snapshot larger than 2 GB: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedMapSnapshot<>(mapped, keySerializer, valueSerializer);
+        }
+    }
+
+    // FNV-1a over the bytes, then a final mix so that all 64 bits are usable
+    static long hash(ByteBuffer bytes, int from, int length) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = from; i < from + length; i++) {
+            h = (h ^ (bytes.get(i) & 0xFF)) * 0x100000001B3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    private int recordOffset(int slot) {
+        return (int) buffer.getLong(offsetsStart + slot * Long.BYTES);
+    }
+
+    // 🔹 Only absolute get(index) calls → the shared buffer's position is never touched
+    private ByteBuffer slice(int from, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(from + length);
+        view.position(from);
+        return view;
+    }
+
+    // Offset of the record holding key, or -1; reads key bytes only, never the value
+    @SuppressWarnings("unchecked")
+    private int find(Object key) {
+        if (key == null || size == 0) {
+            return -1;
+        }
+        byte[] wanted;
+        try {
+            wanted = keySerializer.serialize((K) key);
+        } catch (ClassCastException e) {
+            return -1;
+        }
+        long hash = hash(ByteBuffer.wrap(wanted), 0, wanted.length);
+        int seed = buffer.getInt(HEADER_BYTES + PerfectHash.bucketOf(hash, bucketCount) * Integer.BYTES);
+        int record = recordOffset(PerfectHash.slot(hash, seed, size));
+
+        // A perfect hash maps unknown keys to SOME slot → compare the stored key bytes
+        int keyLength = buffer.getInt(record);
+        if (keyLength != wanted.length || !slice(record + 2 * Integer.BYTES, keyLength).equals(ByteBuffer.wrap(wanted))) {
+            return -1;
+        }
+        return record;
+    }
+
+    @Override
+    public V get(Object key) {
+        int record = find(key);
+        if (record < 0) {
+            return null;
+        }
+        int keyLength = buffer.getInt(record);
+        int valueLength = buffer.getInt(record + Integer.BYTES);
+        return valueSerializer.deserialize(slice(record + 2 * Integer.BYTES + keyLength, valueLength));
+    }
+
+    // 🔹 Key bytes match → done, the value is never decoded
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    private int record = recordsStart;
+                    private int remaining = size;
+
+                    @Override
+                    public boolean hasNext() {
+                        return remaining > 0;
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (remaining == 0) {
+                            throw new NoSuchElementException();
+                        }
+                        int keyLength = buffer.getInt(record);
+                        int valueLength = buffer.getInt(record + Integer.BYTES);
+                        int keyStart = record + 2 * Integer.BYTES;
+                        K key = keySerializer.deserialize(slice(keyStart, keyLength));
+                        V value = valueSerializer.deserialize(slice(keyStart + keyLength, valueLength));
+                        record = keyStart + keyLength + valueLength;
+                        remaining--;
+                        return new SimpleImmutableEntry<>(key, value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        // 🔸 Build step: create the lookup table once and save it
+        int n = 1_000_000;
+        Map<String, Integer> source = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            source.put("code-" + i, i);
+        }
+        Path file = Files.createTempFile("lookup", ".snapshot");
+        long start = System.nanoTime();
+        MappedMapSnapshot.write(source, file, Serializer.STRING, Serializer.INTEGER);
+        System.out.println("Wrote " + Files.size(file) / 1024 + " KB in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // 🔸 Startup: just map the file
+        start = System.nanoTime();
+        Map<String, Integer> codes = MappedMapSnapshot.open(file, Serializer.STRING, Serializer.INTEGER);
+        System.out.println("Opened in " + (System.nanoTime() - start) / 1_000 + " µs");
+
+        // Same work with a heap map rebuilt at startup
+        start = System.nanoTime();
+        Map<String, Integer> rebuilt = new HashMap<>(source);
+        System.out.println("HashMap rebuild: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        System.out.println("code-777 → " + codes.get("code-777") + ", missing → " + codes.get("nope"));
+        System.out.println("Same content? " + codes.equals(rebuilt));
+
+        try {
+            codes.put("new", 1);
+        } catch (UnsupportedOperationException e) {
+            System.out.println("Modification attempt → UnsupportedOperationException");
+        }
+        Files.delete(file);
+    }
+}
+
+/*
+ * 🚀 Memory-Mapped Snapshots 🚀
+ *
+ * 🔹 Problem:
+ * - Big lookup maps are rebuilt at every start: read file → parse → put() millions of times.
+ *
+ * 🔹 Idea:
+ * - Store the map in a format that can be USED as-is: the hash function (perfect hash
+ * seeds), a slot → offset table and the records.
+ * - FileChannel.map() → the OS loads pages lazily when a lookup touches them.
+ * - Several processes opening the same file share one copy in the page cache.
+ *
+ * 🔹 Rules for such formats:
+ * - Magic number + version in the header → reject old/foreign files clearly.
+ * - Hash the serialized BYTES, never hashCode() (it may change between JVMs/versions).
+ * - Write to a temp file, then rename → readers never see half a file.
+ *
+ * ❌ Read-only: to change data, write a new snapshot and open it.
+ */
@@ -0,0 +1,139 @@
+package Map.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Minimal perfect hash function ("hash, displace and compress"): maps each of
+ * n distinct 64-bit hashes to its own slot in {@code 0..n-1}, so a lookup needs
+ * exactly one probe. Built once from the final key set; cannot be updated.
+ */
+public final class PerfectHash {
+
+    // Average keys per bucket: higher = smaller seeds[] but slower build
+    private static final int KEYS_PER_BUCKET = 4;
+
+    private final int size;
+    private final int[] seeds;
+
+    PerfectHash(int size, int[] seeds) {
+        this.size = size;
+        this.seeds = seeds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 🔹 One int per bucket (~1 byte per key) is all the function needs
+    public int[] seeds() {
+        return seeds.clone();
+    }
+
+    public int slot(long hash) {
+        return slot(hash, seeds[bucketOf(hash, seeds.length)], size);
+    }
+
+    // 🔹 Seed >= 0 → slot computed from the hash; seed < 0 → slot stored directly as -(slot + 1)
+    public static int slot(long hash, int seed, int size) {
+        return seed < 0 ? -seed - 1 : position(hash, seed, size);
+    }
+
+    public static int bucketOf(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash >>> 32 ^ hash * 0x9E3779B97F4A7C15L, bucketCount);
+    }
+
+    static int position(long hash, int seed, int size) {
+        long h = hash + (seed + 1) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 31)) * 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        return (int) Long.remainderUnsigned(h, size);
+    }
+
+    // 🔹 Spreads a 32-bit hashCode() over 64 bits (a bijection, so no new collisions)
+    public static long mix(int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Builds the function for {@code hashes}, which must all be different.
+     */
+    public static PerfectHash build(long[] hashes) {
+        int n = hashes.length;
+        int bucketCount = Math.max(1, (n + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+
+        // 1. Group hashes by bucket
+        List<List<Long>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>(KEYS_PER_BUCKET));
+        }
+        for (long h : hashes) {
+            buckets.get(bucketOf(h, bucketCount)).add(h);
+        }
+
+        // 2. Biggest buckets first: they are the hardest to place
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        int[] seeds = new int[bucketCount];
+        BitSet taken = new BitSet(n);
+        int[] positions = new int[64];
+        int nextFree = 0;
+
+        for (int b : order) {
+            List<Long> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            // 3. Single-key buckets (placed last) simply take the next free slot
+            if (bucket.size() == 1) {
+                nextFree = taken.nextClearBit(nextFree);
+                taken.set(nextFree);
+                seeds[b] = -nextFree - 1;
+                continue;
+            }
+            if (positions.length < bucket.size()) {
+                positions = new int[bucket.size()];
+            }
+            // 4. Try seeds until every key of the bucket lands on a free, distinct slot
+            for (int seed = 0; ; seed++) {
+                if (seed == Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("duplicate hashes, no perfect hash exists");
+                }
+                if (tryPlace(bucket, seed, n, taken, positions)) {
+                    seeds[b] = seed;
+                    for (int i = 0; i < bucket.size(); i++) {
+                        taken.set(positions[i]);
+                    }
+                    break;
+                }
+            }
+        }
+        return new PerfectHash(n, seeds);
+    }
+
+    private static boolean tryPlace(List<Long> bucket, int seed, int n, BitSet taken, int[] positions) {
+        for (int i = 0; i < bucket.size(); i++) {
+            int p = position(bucket.get(i), seed, n);
+            if (taken.get(p)) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (positions[j] == p) {
+                    if (bucket.get(j).longValue() == bucket.get(i).longValue()) {
+                        throw new IllegalArgumentException("duplicate hash: " + bucket.get(i));
+                    }
+                    return false;
+                }
+            }
+            positions[i] = p;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,608 @@
+package Map.ImmutableMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable map where "changing" a key returns a NEW map that shares almost
+ * everything with the old one. Entries live in a hash array mapped trie (HAMT):
+ * 32-way nodes indexed by 5 bits of the hash at a time, so {@link #with} and
+ * {@link #without} copy only the ~log32(n) nodes on the path to the key.
+ * Old versions stay valid and unchanged. For many updates at once use a
+ * {@link Builder}, which edits its own fresh nodes in place. Null keys/values are not allowed.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentMap<?, ?> EMPTY =
+            new PersistentMap<>(new BitmapNode<>(null, 0, 0, new Object[0]), 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        return PersistentMap.<K, V>builder().putAll(map).build();
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(empty());
+    }
+
+    // 🔹 Builder that starts from this version; this map itself is never changed
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    static int fragment(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key == null ? null : root.find(key, hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a map with {@code key} mapped to {@code value}; this map is unchanged.
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Change<V> change = new Change<>();
+        Node<K, V> newRoot = root.with(null, key, value, hash(key), 0, change);
+        return newRoot == root ? this : new PersistentMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without {@code key}; this map is unchanged.
+     */
+    public PersistentMap<K, V> without(Object key) {
+        if (key == null) {
+            return this;
+        }
+        Change<V> change = new Change<>();
+        Node<K, V> newRoot = root.without(null, key, hash(key), 0, change);
+        return change.removed ? new PersistentMap<>(newRoot, size - 1) : this;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // What an update did, filled in while walking down the trie
+    static final class Change<V> {
+        boolean added;
+        boolean removed;
+        V oldValue;
+    }
+
+    abstract static class Node<K, V> {
+        abstract V find(Object key, int hash, int shift);
+
+        // owner == null → persistent update (copy); owner == builder token → may edit owned nodes in place
+        abstract Node<K, V> with(Object owner, K key, V value, int hash, int shift, Change<V> change);
+
+        abstract Node<K, V> without(Object owner, Object key, int hash, int shift, Change<V> change);
+
+        abstract int payloadArity();
+
+        abstract int nodeArity();
+
+        abstract K keyAt(int i);
+
+        abstract V valueAt(int i);
+
+        abstract Node<K, V> nodeAt(int i);
+    }
+
+    /**
+     * Up to 32 children. {@code dataMap} marks fragments stored inline as key/value,
+     * {@code nodeMap} marks fragments that continue in a sub-node. Layout of content:
+     * [k0, v0, k1, v1, ..., nodeN, ..., node1, node0] (sub-nodes from the end).
+     */
+    static final class BitmapNode<K, V> extends Node<K, V> {
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapNode(Object owner, int dataMap, int nodeMap, Object[] content) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        // 🔹 Position = number of set bits below ours → no empty slots stored
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodePosition(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V find(Object key, int hash, int shift) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * dataIndex(bit);
+                return key.equals(content[i]) ? (V) content[i + 1] : null;
+            }
+            if ((nodeMap & bit) != 0) {
+                return ((Node<K, V>) content[nodePosition(bit)]).find(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> with(Object owner, K key, V value, int hash, int shift, Change<V> change) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * dataIndex(bit);
+                K k = (K) content[i];
+                if (key.equals(k)) {
+                    change.oldValue = (V) content[i + 1];
+                    if (change.oldValue == value) {
+                        return this;
+                    }
+                    Object[] copy = editable(owner) ? content : content.clone();
+                    copy[i + 1] = value;
+                    return update(owner, dataMap, nodeMap, copy);
+                }
+                // Two keys share this fragment → push both one level down
+                Node<K, V> sub = merge(owner, k, (V) content[i + 1], hash(k), key, value, hash, shift + BITS);
+                change.added = true;
+                return update(owner, dataMap ^ bit, nodeMap | bit, dataToNode(bit, i, sub));
+            }
+            if ((nodeMap & bit) != 0) {
+                int p = nodePosition(bit);
+                Node<K, V> sub = (Node<K, V>) content[p];
+                Node<K, V> newSub = sub.with(owner, key, value, hash, shift + BITS, change);
+                if (newSub == sub) {
+                    return this;
+                }
+                Object[] copy = editable(owner) ? content : content.clone();
+                copy[p] = newSub;
+                return update(owner, dataMap, nodeMap, copy);
+            }
+            change.added = true;
+            return update(owner, dataMap | bit, nodeMap, insertData(2 * dataIndex(bit), key, value));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> without(Object owner, Object key, int hash, int shift, Change<V> change) {
+            int bit = 1 << fragment(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * dataIndex(bit);
+                if (!key.equals(content[i])) {
+                    return this;
+                }
+                change.removed = true;
+                change.oldValue = (V) content[i + 1];
+                Object[] copy = new Object[content.length - 2];
+                System.arraycopy(content, 0, copy, 0, i);
+                System.arraycopy(content, i + 2, copy, i, copy.length - i);
+                return update(owner, dataMap ^ bit, nodeMap, copy);
+            }
+            if ((nodeMap & bit) != 0) {
+                int p = nodePosition(bit);
+                Node<K, V> sub = (Node<K, V>) content[p];
+                Node<K, V> newSub = sub.without(owner, key, hash, shift + BITS, change);
+                if (!change.removed) {
+                    return this;
+                }
+                if (newSub.payloadArity() == 1 && newSub.nodeArity() == 0) {
+                    // 🔹 A sub-node with one entry left moves that entry up here (keeps the trie small)
+                    return update(owner, dataMap | bit, nodeMap ^ bit, nodeToData(bit, p, newSub.keyAt(0), newSub.valueAt(0)));
+                }
+                if (newSub == sub) {
+                    return this;
+                }
+                Object[] copy = editable(owner) ? content : content.clone();
+                copy[p] = newSub;
+                return update(owner, dataMap, nodeMap, copy);
+            }
+            return this;
+        }
+
+        private boolean editable(Object owner) {
+            return owner != null && this.owner == owner;
+        }
+
+        // Builder-owned node → change in place; otherwise → new node (path copying)
+        private BitmapNode<K, V> update(Object owner, int dataMap, int nodeMap, Object[] content) {
+            if (editable(owner)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                return this;
+            }
+            return new BitmapNode<>(owner, dataMap, nodeMap, content);
+        }
+
+        private Object[] insertData(int i, Object key, Object value) {
+            Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, i);
+            copy[i] = key;
+            copy[i + 1] = value;
+            System.arraycopy(content, i, copy, i + 2, content.length - i);
+            return copy;
+        }
+
+        // Removes the pair at i and adds sub at the sub-node position of bit
+        private Object[] dataToNode(int bit, int i, Node<K, V> sub) {
+            Object[] copy = new Object[content.length - 1];
+            int p = copy.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(content, 0, copy, 0, i);
+            System.arraycopy(content, i + 2, copy, i, p - i);
+            copy[p] = sub;
+            System.arraycopy(content, p + 2, copy, p + 1, copy.length - p - 1);
+            return copy;
+        }
+
+        // Removes the sub-node at p and inserts key/value at the data position of bit
+        private Object[] nodeToData(int bit, int p, K key, V value) {
+            Object[] copy = new Object[content.length + 1];
+            int i = 2 * dataIndex(bit);
+            System.arraycopy(content, 0, copy, 0, i);
+            copy[i] = key;
+            copy[i + 1] = value;
+            System.arraycopy(content, i, copy, i + 2, p - i);
+            System.arraycopy(content, p + 1, copy, p + 2, content.length - p - 1);
+            return copy;
+        }
+
+        private static <K, V> Node<K, V> merge(Object owner, K k1, V v1, int h1, K k2, V v2, int h2, int shift) {
+            if (shift >= Integer.SIZE) {
+                // All 32 hash bits are equal → only a list can tell the keys apart
+                return new CollisionNode<>(owner, h1, new Object[]{k1, v1, k2, v2});
+            }
+            int f1 = fragment(h1, shift);
+            int f2 = fragment(h2, shift);
+            if (f1 != f2) {
+                Object[] content = f1 < f2 ? new Object[]{k1, v1, k2, v2} : new Object[]{k2, v2, k1, v1};
+                return new BitmapNode<>(owner, (1 << f1) | (1 << f2), 0, content);
+            }
+            Node<K, V> sub = merge(owner, k1, v1, h1, k2, v2, h2, shift + BITS);
+            return new BitmapNode<>(owner, 0, 1 << f1, new Object[]{sub});
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int i) {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V valueAt(int i) {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> nodeAt(int i) {
+            return (Node<K, V>) content[content.length - 1 - i];
+        }
+    }
+
+    /**
+     * Keys whose 32-bit hashes are fully equal: [k0, v0, k1, v1, ...], searched linearly.
+     */
+    static final class CollisionNode<K, V> extends Node<K, V> {
+        private final Object owner;
+        private final int hash;
+        private Object[] entries;
+
+        CollisionNode(Object owner, int hash, Object[] entries) {
+            this.owner = owner;
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V find(Object key, int hash, int shift) {
+            int i = indexOf(key);
+            return i < 0 ? null : (V) entries[i + 1];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> with(Object owner, K key, V value, int hash, int shift, Change<V> change) {
+            int i = indexOf(key);
+            Object[] copy;
+            if (i >= 0) {
+                change.oldValue = (V) entries[i + 1];
+                if (change.oldValue == value) {
+                    return this;
+                }
+                copy = entries.clone();
+                copy[i + 1] = value;
+            } else {
+                change.added = true;
+                copy = new Object[entries.length + 2];
+                System.arraycopy(entries, 0, copy, 0, entries.length);
+                copy[entries.length] = key;
+                copy[entries.length + 1] = value;
+            }
+            return update(owner, copy);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> without(Object owner, Object key, int hash, int shift, Change<V> change) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            change.removed = true;
+            change.oldValue = (V) entries[i + 1];
+            // One entry left → payloadArity() == 1, so the parent pulls it up
+            Object[] copy = new Object[entries.length - 2];
+            System.arraycopy(entries, 0, copy, 0, i);
+            System.arraycopy(entries, i + 2, copy, i, copy.length - i);
+            return update(owner, copy);
+        }
+
+        private CollisionNode<K, V> update(Object owner, Object[] entries) {
+            if (owner != null && this.owner == owner) {
+                this.entries = entries;
+                return this;
+            }
+            return new CollisionNode<>(owner, hash, entries);
+        }
+
+        @Override
+        int payloadArity() {
+            return entries.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int i) {
+            return (K) entries[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V valueAt(int i) {
+            return (V) entries[2 * i + 1];
+        }
+
+        @Override
+        Node<K, V> nodeAt(int i) {
+            throw new IndexOutOfBoundsException(String.valueOf(i));
+        }
+    }
+
+    // Visits the inline entries of each node, then its sub-nodes
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final ArrayDeque<Node<K, V>> pending = new ArrayDeque<>();
+        private Node<K, V> current;
+        private int index;
+
+        EntryIterator(Node<K, V> root) {
+            current = root;
+            pushChildren(root);
+        }
+
+        private void pushChildren(Node<K, V> node) {
+            for (int i = 0; i < node.nodeArity(); i++) {
+                pending.push(node.nodeAt(i));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index >= current.payloadArity()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.pop();
+                pushChildren(current);
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = current.keyAt(index);
+            V value = current.valueAt(index++);
+            return new SimpleImmutableEntry<>(key, value);
+        }
+    }
+
+    /**
+     * Batches many updates: nodes created by this builder are changed in place instead
+     * of copied. {@link #build()} freezes them, so the builder can keep going safely.
+     */
+    public static final class Builder<K, V> {
+        private Object owner = new Object();
+        private Node<K, V> root;
+        private int size;
+
+        private Builder(PersistentMap<K, V> base) {
+            this.root = base.root;
+            this.size = base.size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+            Change<V> change = new Change<>();
+            root = root.with(owner, key, value, hash(key), 0, change);
+            if (change.added) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            map.forEach(this::put);
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            if (key != null) {
+                Change<V> change = new Change<>();
+                root = root.without(owner, key, hash(key), 0, change);
+                if (change.removed) {
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        public V get(Object key) {
+            return key == null ? null : root.find(key, hash(key), 0);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentMap<K, V> build() {
+            // 🔹 New token → later puts copy nodes instead of changing the published map
+            owner = new Object();
+            return new PersistentMap<>(root, size);
+        }
+    }
+
+    public static void main(String[] args) {
+        PersistentMap<String, String> v1 = PersistentMap.<String, String>empty()
+                .with("db.url", "jdbc:h2:mem")
+                .with("db.pool", "10");
+        PersistentMap<String, String> v2 = v1.with("db.pool", "50").without("db.url");
+        System.out.println("v1: " + v1);
+        System.out.println("v2: " + v2 + " (v1 unchanged)");
+
+        // 🔸 Config snapshots: base map of 100k keys, 1k published versions with one change each
+        int n = 100_000;
+        Map<String, Integer> base = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            base.put("key-" + i, i);
+        }
+        int versions = 1_000;
+
+        long start = System.nanoTime();
+        Map<String, Integer> copied = base;
+        for (int i = 0; i < versions; i++) {
+            copied = new HashMap<>(copied);
+            copied.put("key-" + (i % n), -i);
+        }
+        System.out.println("HashMap copy per version:   " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        PersistentMap<String, Integer> persistent = PersistentMap.copyOf(base);
+        start = System.nanoTime();
+        for (int i = 0; i < versions; i++) {
+            persistent = persistent.with("key-" + (i % n), -i);
+        }
+        System.out.println("PersistentMap.with per version: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("Same result? " + persistent.equals(copied));
+
+        // 🔸 Batched update through a builder
+        PersistentMap<String, Integer> batched = persistent.toBuilder()
+                .put("feature.x", 1)
+                .remove("key-0")
+                .build();
+        System.out.println("Batched: size " + batched.size() + ", old version size " + persistent.size());
+    }
+}
+
+/*
+ * 🚀 Persistent Maps (Structural Sharing) 🚀
+ *
+ * 🔹 Copy-on-write with HashMap:
+ * - Every new version = full copy → O(n) time and memory per change.
+ *
+ * 🔹 HAMT (Hash Array Mapped Trie):
+ * - Tree of 32-way nodes; level 0 uses hash bits 0-4, level 1 bits 5-9, ...
+ * - Each node stores a 32-bit bitmap + only the children that exist (no empty slots).
+ * - Changing one key copies only the nodes on its path (~log32(n) ≈ 4 for 1M keys).
+ * - All other nodes are SHARED between the old and the new version.
+ *
+ * 🔹 Transient builder:
+ * - Nodes remember the builder ("owner") that created them.
+ * - The builder may change its own nodes in place → batch updates without copying each time.
+ * - build() switches to a new owner → published nodes are never changed again.
+ *
+ * ✅ Old versions stay valid → perfect for config snapshots read by many threads.
+ */